@@ -18,7 +18,7 @@ import java.util.Date;
  */
 public class ObjectComparatorManager {
 
-    private static final CacheMap<Comparator<?>, ComparatorContext> _cache = new CacheMap<Comparator<?>, ComparatorContext>(new ComparatorContext(""));
+    private static final CacheMap<Comparator<?>, ComparatorContext> _cache = new CacheMap<Comparator<?>, ComparatorContext>(new ComparatorContext(""), true);
 
     private static final Comparator<Object> _defaultComparator = new DefaultComparator();
 
@@ -41,7 +41,7 @@ public class ObjectComparatorManager {
             context = ComparatorContext.DEFAULT_CONTEXT;
         }
 
-        if (isAutoInit() && !_initing) {
+        if (isAutoInit() && !_inited) {
             initDefaultComparator();
         }
 
@@ -233,9 +233,9 @@ public class ObjectComparatorManager {
         }
     }
 
-    private static boolean _inited = false;
-    private static boolean _initing = false;
-    private static boolean _autoInit = true;
+    private static volatile boolean _inited = false;
+    private static volatile boolean _initing = false;
+    private static volatile boolean _autoInit = true;
 
     /**
      * Checks the value of autoInit.
@@ -307,55 +307,61 @@ public class ObjectComparatorManager {
 
     /**
      * Initialize default comparator. Please make sure you call this method before you use any comparator related
-     * classes such as SortableTableModel.
+     * classes such as SortableTableModel. It is safe to call this method from several threads at the same time, the
+     * default comparators will only be registered once.
      */
     public static void initDefaultComparator() {
         if (_inited) {
             return;
         }
 
-        _initing = true;
-
-        try {
-            registerComparator(Object.class, new DefaultComparator());
-            registerComparator(Boolean.class, new BooleanComparator());
-            registerComparator(Calendar.class, new CalendarComparator());
-            registerComparator(Date.class, new DateComparator());
-
-            NumberComparator numberComparator = new NumberComparator();
-            registerComparator(Number.class, numberComparator);
-            registerComparator(double.class, numberComparator);
-            registerComparator(float.class, numberComparator);
-            registerComparator(long.class, numberComparator);
-            registerComparator(int.class, numberComparator);
-            registerComparator(short.class, numberComparator);
-            registerComparator(byte.class, numberComparator);
-
-            NumberComparator absoluteNumberComparator = new NumberComparator();
-            absoluteNumberComparator.setAbsolute(true);
-            registerComparator(Number.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(double.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(float.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(long.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(int.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(short.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-            registerComparator(byte.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
-
-            registerComparator(Comparable.class, new FastComparableComparator());
-            registerComparator(String.class, Collator.getInstance());
-            Collator caseInsensitiveCollator = Collator.getInstance();
-            caseInsensitiveCollator.setStrength(Collator.PRIMARY);
-            registerComparator(String.class, caseInsensitiveCollator, new ComparatorContext("Ignorecase"));
-            registerComparator(CharSequence.class, new CharSequenceComparator(), CharSequenceComparator.CONTEXT);
-            registerComparator(CharSequence.class, new CharSequenceComparator(false), CharSequenceComparator.CONTEXT_IGNORE_CASE);
-            registerComparator(CharSequence.class, new AlphanumComparator(), AlphanumComparator.CONTEXT);
-            registerComparator(CharSequence.class, new AlphanumComparator(false), AlphanumComparator.CONTEXT_IGNORE_CASE);
-        }
-        finally {
-            _initing = false;
-            _inited = true;
-        }
+        synchronized (ObjectComparatorManager.class) {
+            if (_inited || _initing) {
+                return;
+            }
+
+            _initing = true;
 
+            try {
+                registerComparator(Object.class, new DefaultComparator());
+                registerComparator(Boolean.class, new BooleanComparator());
+                registerComparator(Calendar.class, new CalendarComparator());
+                registerComparator(Date.class, new DateComparator());
+
+                NumberComparator numberComparator = new NumberComparator();
+                registerComparator(Number.class, numberComparator);
+                registerComparator(double.class, numberComparator);
+                registerComparator(float.class, numberComparator);
+                registerComparator(long.class, numberComparator);
+                registerComparator(int.class, numberComparator);
+                registerComparator(short.class, numberComparator);
+                registerComparator(byte.class, numberComparator);
+
+                NumberComparator absoluteNumberComparator = new NumberComparator();
+                absoluteNumberComparator.setAbsolute(true);
+                registerComparator(Number.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(double.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(float.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(long.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(int.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(short.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+                registerComparator(byte.class, absoluteNumberComparator, NumberComparator.CONTEXT_ABSOLUTE);
+
+                registerComparator(Comparable.class, new FastComparableComparator());
+                registerComparator(String.class, Collator.getInstance());
+                Collator caseInsensitiveCollator = Collator.getInstance();
+                caseInsensitiveCollator.setStrength(Collator.PRIMARY);
+                registerComparator(String.class, caseInsensitiveCollator, new ComparatorContext("Ignorecase"));
+                registerComparator(CharSequence.class, new CharSequenceComparator(), CharSequenceComparator.CONTEXT);
+                registerComparator(CharSequence.class, new CharSequenceComparator(false), CharSequenceComparator.CONTEXT_IGNORE_CASE);
+                registerComparator(CharSequence.class, new AlphanumComparator(), AlphanumComparator.CONTEXT);
+                registerComparator(CharSequence.class, new AlphanumComparator(false), AlphanumComparator.CONTEXT_IGNORE_CASE);
+            }
+            finally {
+                _initing = false;
+                _inited = true;
+            }
+        }
     }
 
     /**
@@ -9,31 +9,82 @@ import com.jidesoft.utils.TypeUtils;
 
 import javax.swing.event.EventListenerList;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <code>CacheMap</code> is a two-level <code>HashMap</code>. It uses Class as the key and you can map the key to an
  * object and a context as a pair. We use context because we want to register multiple objects with the same Class.
  * {@link #register(Class,Object,Object)} is the method to register a new entry. {@link
  * #getRegisteredObject(Class,Object)} will allow you to look up the object by specifying the Class and the context.
+ * <p/>
+ * The registration is copy-on-write. Each change replaces the <code>Cache</code> of the class instead of modifying it.
+ * If the <code>CacheMap</code> is created in concurrent mode (see {@link #CacheMap(Object, boolean)}), the lookup
+ * methods can be called from any thread without locking while another thread changes the registration.
  */
 public class CacheMap<T, K> {
 
-    private HashMap<Class<?>, Cache<K, T>> _cache = new HashMap<Class<?>, Cache<K, T>>();
+    private final boolean _concurrent;
+
+    private final Map<Class<?>, Cache<K, T>> _cache;
 
     private K _defaultContext; // used for fallback lookup.
 
+    /**
+     * The resolved results of {@link #getRegisteredObject(Class, Object)}, including the misses which are stored as
+     * {@link #NO_MATCH}. It is replaced whenever a {@link RegistrationEvent} is fired.
+     */
+    private volatile Map<Class<?>, Map<Object, Object>> _resolvedCache;
+
+    private static final Object NO_MATCH = new Object();
+
+    private static final Object NULL_CONTEXT = new Object();
+
     /**
      * Constructs a <code>CacheMap</code>.
      *
      * @param defaultContext the default context.
      */
     public CacheMap(K defaultContext) {
+        this(defaultContext, false);
+    }
+
+    /**
+     * Constructs a <code>CacheMap</code>.
+     *
+     * @param defaultContext the default context.
+     * @param concurrent     true to back the <code>CacheMap</code> with <code>ConcurrentHashMap</code>s so that it can
+     *                       be read from multiple threads without locking. Otherwise <code>HashMap</code>s are used.
+     */
+    public CacheMap(K defaultContext, boolean concurrent) {
         _defaultContext = defaultContext;
+        _concurrent = concurrent;
+        _cache = createMap();
+        _resolvedCache = createMap();
+    }
+
+    /**
+     * Checks if the <code>CacheMap</code> was created in concurrent mode.
+     *
+     * @return true if concurrent. Otherwise false.
+     */
+    public boolean isConcurrent() {
+        return _concurrent;
+    }
+
+    private <A, B> Map<A, B> createMap() {
+        return _concurrent ? new ConcurrentHashMap<A, B>() : new HashMap<A, B>();
     }
 
     static class Cache<K, T> extends HashMap<K, T> {
       private static final long serialVersionUID = 7764545350468551102L;
 
+        public Cache() {
+        }
+
+        public Cache(Cache<K, T> cache) {
+            super(cache);
+        }
+
         public T getObject(K context) {
             return get(context);
         }
@@ -98,8 +149,12 @@ public class CacheMap<T, K> {
             throw new IllegalArgumentException("Parameter clazz cannot be null");
         }
 
-        Cache<K, T> cache = initCache(clazz);
-        cache.setObject(context, object);
+        synchronized (_cache) {
+            Cache<K, T> cache = getCache(clazz);
+            cache = cache != null ? new Cache<K, T>(cache) : new Cache<K, T>();
+            cache.setObject(context, object);
+            _cache.put(clazz, cache);
+        }
         fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_ADDED, object, clazz, context));
     }
 
@@ -110,15 +165,23 @@ public class CacheMap<T, K> {
      * @param context the context
      */
     public void unregister(Class<?> clazz, K context) {
-        Cache<K, T> cache = getCache(clazz);
-        if (cache != null) {
-            Object object = cache.getObject(context);
+        Object object;
+        synchronized (_cache) {
+            Cache<K, T> cache = getCache(clazz);
+            if (cache == null) {
+                return;
+            }
+            object = cache.getObject(context);
+            cache = new Cache<K, T>(cache);
             cache.setObject(context, null);
-            fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_REMOVED, object, clazz, context));
             if (cache.size() == 0) {
                 _cache.remove(clazz);
             }
+            else {
+                _cache.put(clazz, cache);
+            }
         }
+        fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_REMOVED, object, clazz, context));
     }
 
     /**
@@ -133,11 +196,41 @@ public class CacheMap<T, K> {
      *                default context is used.
      * @return registered object the object associated with the class and the context.
      */
+    @SuppressWarnings("unchecked")
     public T getRegisteredObject(Class<?> clazz, K context) {
         if (clazz == null) {
             return null;
         }
 
+        // read the field once so that a result computed before an invalidation never goes into the new map
+        Map<Class<?>, Map<Object, Object>> resolvedCache = _resolvedCache;
+        Object key = context != null ? context : NULL_CONTEXT;
+        Map<Object, Object> resolvedForClass = resolvedCache.get(clazz);
+        if (resolvedForClass != null) {
+            Object resolved = resolvedForClass.get(key);
+            if (resolved != null) {
+                return resolved == NO_MATCH ? null : (T) resolved;
+            }
+        }
+        else {
+            resolvedForClass = createMap();
+            resolvedCache.put(clazz, resolvedForClass);
+        }
+
+        T object = resolveRegisteredObject(clazz, context);
+        resolvedForClass.put(key, object != null ? object : NO_MATCH);
+        return object;
+    }
+
+    /**
+     * Looks up the registered object without using the resolved cache. See {@link #getRegisteredObject(Class, Object)}
+     * for the algorithm.
+     *
+     * @param clazz   the class which is used as the primary key.
+     * @param context the context which is used as the secondary key.
+     * @return registered object the object associated with the class and the context.
+     */
+    protected T resolveRegisteredObject(Class<?> clazz, K context) {
         Cache<K, T> cache = getCache(clazz);
 
         if (cache == null || !cache.containsKey(context)) {
@@ -258,25 +351,34 @@ public class CacheMap<T, K> {
      *
      * @param clazz the class
      */
-    @SuppressWarnings("unchecked")
     public void remove(Class<?> clazz) {
-        Cache<K, T> cache = getCache(clazz);
+        Cache<K, T> cache;
+        synchronized (_cache) {
+            cache = _cache.remove(clazz);
+        }
         if (cache != null) {
-            Object[] keys = cache.keySet().toArray();
-            for (Object context : keys) {
-                Object object = cache.getObject((K) context);
-                cache.setObject((K) context, null);
-                fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_REMOVED, object, clazz, context));
+            for (Map.Entry<K, T> entry : cache.entrySet()) {
+                fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_REMOVED, entry.getValue(), clazz, entry.getKey()));
             }
         }
-        _cache.remove(clazz);
     }
 
     public void clear() {
-        _cache.clear();
+        synchronized (_cache) {
+            _cache.clear();
+        }
         fireRegistrationChanged(new RegistrationEvent(this, RegistrationEvent.REGISTRATION_CLEARED));
     }
 
+    /**
+     * Clears the cached results of {@link #getRegisteredObject(Class, Object)}. It is called automatically from {@link
+     * #fireRegistrationChanged(RegistrationEvent)} so you only need to call it if you modify the registration without
+     * firing an event.
+     */
+    public void invalidateResolvedCache() {
+        _resolvedCache = createMap();
+    }
+
     /**
      * List of listeners
      */
@@ -323,6 +425,8 @@ public class CacheMap<T, K> {
      * @see EventListenerList
      */
     public void fireRegistrationChanged(RegistrationEvent e) {
+        invalidateResolvedCache();
+
         // Guaranteed to return a non-null array
         Object[] listeners = listenerList.getListenerList();
         // Process the listeners last to first, notifying
@@ -20,10 +20,13 @@ import java.util.Date;
  * <code>ContextSensitiveTableModel</code> adds getCellClassAt (the data type) and getConverterContextAt for each cell
  * in a table model. We use both values as the key to look up for the <code>ObjectConverter</code> from
  * <code>ObjectConverterManager</code>.
+ * <p/>
+ * The registry is backed by a concurrent {@link CacheMap} so converters can be looked up from any thread, for example
+ * from a background thread loading data, while the registration changes.
  */
 public class ObjectConverterManager {
 
-    private static CacheMap<ObjectConverter, ConverterContext> _cache = new CacheMap<ObjectConverter, ConverterContext>(ConverterContext.DEFAULT_CONTEXT);
+    private static CacheMap<ObjectConverter, ConverterContext> _cache = new CacheMap<ObjectConverter, ConverterContext>(ConverterContext.DEFAULT_CONTEXT, true);
 
     private static ObjectConverter _defaultConverter = new DefaultObjectConverter();
 
@@ -43,7 +46,7 @@ public class ObjectConverterManager {
             context = ConverterContext.DEFAULT_CONTEXT;
         }
 
-        if (isAutoInit() && !_initing) {
+        if (isAutoInit() && !_inited) {
             initDefaultConverter();
         }
 
@@ -71,7 +74,7 @@ public class ObjectConverterManager {
             context = ConverterContext.DEFAULT_CONTEXT;
         }
 
-        if (isAutoInit() && !_initing) {
+        if (isAutoInit() && !_inited) {
             initDefaultConverter();
         }
 
@@ -212,9 +215,9 @@ public class ObjectConverterManager {
         }
     }
 
-    private static boolean _inited = false;
-    private static boolean _initing = false;
-    private static boolean _autoInit = true;
+    private static volatile boolean _inited = false;
+    private static volatile boolean _initing = false;
+    private static volatile boolean _autoInit = true;
 
     /**
      * Checks the value of autoInit.
@@ -311,126 +314,131 @@ public class ObjectConverterManager {
             return;
         }
 
-        _initing = true;
-
-        try {
-            registerConverter(String.class, new DefaultObjectConverter());
-            registerConverter(char[].class, new PasswordConverter(), PasswordConverter.CONTEXT);
-
-            DoubleConverter fractionConverter = new DoubleConverter();
-            fractionConverter.setFractionDigits(2, 2);
-            registerConverter(Number.class, fractionConverter, NumberConverter.CONTEXT_FRACTION_NUMBER);
-
-            IntegerConverter integerConverter = new IntegerConverter();
-            registerConverter(Integer.class, integerConverter);
-            registerConverter(int.class, integerConverter);
-
-            NaturalNumberConverter naturalNumberConverter = new NaturalNumberConverter();
-            registerConverter(Integer.class, naturalNumberConverter, NaturalNumberConverter.CONTEXT);
-            registerConverter(int.class, naturalNumberConverter, NaturalNumberConverter.CONTEXT);
-
-            LongConverter longConverter = new LongConverter();
-            registerConverter(Long.class, longConverter);
-            registerConverter(long.class, longConverter);
-
-            DoubleConverter doubleConverter = new DoubleConverter();
-            registerConverter(Double.class, doubleConverter);
-            registerConverter(double.class, doubleConverter);
-
-            FloatConverter floatConverter = new FloatConverter();
-            registerConverter(Float.class, floatConverter);
-            registerConverter(float.class, floatConverter);
-
-            ShortConverter shortConverter = new ShortConverter();
-            registerConverter(Short.class, shortConverter);
-            registerConverter(short.class, shortConverter);
-
-            ByteConverter byteConverter = new ByteConverter();
-            registerConverter(Byte.class, byteConverter);
-            registerConverter(byte.class, byteConverter);
-
-            registerConverter(Rectangle.class, new RectangleConverter());
-            registerConverter(Point.class, new PointConverter());
-            registerConverter(Insets.class, new InsetsConverter());
-            registerConverter(Dimension.class, new DimensionConverter());
-
-            BooleanConverter booleanConverter = new BooleanConverter();
-            registerConverter(Boolean.class, booleanConverter);
-            registerConverter(boolean.class, booleanConverter);
-
-            registerConverter(File.class, new FileConverter());
-            registerConverter(String.class, new FontNameConverter(), FontNameConverter.CONTEXT);
-
-            DateConverter dateConverter = new DateConverter();
-            registerConverter(Date.class, dateConverter);
-            registerConverter(Date.class, dateConverter, DateConverter.DATETIME_CONTEXT);
-            registerConverter(Date.class, dateConverter, DateConverter.TIME_CONTEXT);
-
-            CalendarConverter calendarConverter = new CalendarConverter();
-            registerConverter(Calendar.class, calendarConverter);
-            registerConverter(Calendar.class, calendarConverter, DateConverter.DATETIME_CONTEXT);
-            registerConverter(Calendar.class, calendarConverter, DateConverter.TIME_CONTEXT);
-
-            registerConverter(Calendar.class, new MonthConverter(), MonthConverter.CONTEXT_MONTH);
-            registerConverter(Color.class, new RgbColorConverter());
-            registerConverter(Color.class, new HexColorConverter(), ColorConverter.CONTEXT_HEX);
-            registerConverter(Color.class, new RgbColorConverter(true), ColorConverter.CONTEXT_RGBA);
-            registerConverter(Color.class, new HexColorConverter(true), ColorConverter.CONTEXT_HEX_WITH_ALPHA);
-
-            registerConverter(String[].class, new StringArrayConverter());
-
-            QuarterNameConverter quarterNameConverter = new QuarterNameConverter();
-            registerConverter(int.class, quarterNameConverter, QuarterNameConverter.CONTEXT);
-            registerConverter(Integer.class, quarterNameConverter, QuarterNameConverter.CONTEXT);
-
-            registerConverter(Font.class, new FontConverter());
-            registerConverter(String.class, new MultilineStringConverter(), MultilineStringConverter.CONTEXT);
-
-            CurrencyConverter currencyConverter = new CurrencyConverter();
-            registerConverter(Float.class, currencyConverter, CurrencyConverter.CONTEXT);
-            registerConverter(float.class, currencyConverter, CurrencyConverter.CONTEXT);
-            registerConverter(Double.class, currencyConverter, CurrencyConverter.CONTEXT);
-            registerConverter(double.class, currencyConverter, CurrencyConverter.CONTEXT);
-
-            PercentConverter percentConverter = new PercentConverter();
-            registerConverter(Float.class, percentConverter, PercentConverter.CONTEXT);
-            registerConverter(float.class, percentConverter, PercentConverter.CONTEXT);
-            registerConverter(Double.class, percentConverter, PercentConverter.CONTEXT);
-            registerConverter(double.class, percentConverter, PercentConverter.CONTEXT);
-
-            MonthNameConverter monthNameConverter = new MonthNameConverter();
-            registerConverter(Integer.class, monthNameConverter, MonthNameConverter.CONTEXT);
-            registerConverter(int.class, monthNameConverter, MonthNameConverter.CONTEXT);
-
-            YearNameConverter yearNameConverter = new YearNameConverter();
-            registerConverter(Integer.class, yearNameConverter, YearNameConverter.CONTEXT);
-            registerConverter(int.class, yearNameConverter, YearNameConverter.CONTEXT);
-
-            ObjectConverterManager.registerConverter(int[].class, new DefaultArrayConverter("; ", int.class));
-            registerConverter(Object[].class, new DefaultArrayConverter("; ", Object.class));
-            registerConverter(Enum[].class, new DefaultArrayConverter("; ", Enum.class));
-            registerConverter(String[].class, new DefaultArrayConverter("; ", String.class));
-            registerConverter(Date[].class, new DefaultArrayConverter("; ", Date.class));
-            registerConverter(Calendar[].class, new DefaultArrayConverter("; ", Calendar.class));
-            registerConverter(Number[].class, new DefaultArrayConverter("; ", Number.class));
-            registerConverter(Integer[].class, new DefaultArrayConverter("; ", Integer.class));
-            registerConverter(Float[].class, new DefaultArrayConverter("; ", Float.class));
-            registerConverter(Double[].class, new DefaultArrayConverter("; ", Double.class));
-            registerConverter(Long[].class, new DefaultArrayConverter("; ", Long.class));
-            registerConverter(Short[].class, new DefaultArrayConverter("; ", Short.class));
-            registerConverter(int[].class, new DefaultArrayConverter("; ", int.class));
-            registerConverter(float[].class, new DefaultArrayConverter("; ", float.class));
-            registerConverter(double[].class, new DefaultArrayConverter("; ", double.class));
-            registerConverter(long[].class, new DefaultArrayConverter("; ", long.class));
-            registerConverter(short[].class, new DefaultArrayConverter("; ", short.class));
-
-            registerConverter(BigDecimal.class, new BigDecimalConverter());
-        }
-        finally {
-            _initing = false;
-            _inited = true;
+        synchronized (ObjectConverterManager.class) {
+            if (_inited || _initing) {
+                return;
+            }
+
+            _initing = true;
+
+            try {
+                registerConverter(String.class, new DefaultObjectConverter());
+                registerConverter(char[].class, new PasswordConverter(), PasswordConverter.CONTEXT);
+
+                DoubleConverter fractionConverter = new DoubleConverter();
+                fractionConverter.setFractionDigits(2, 2);
+                registerConverter(Number.class, fractionConverter, NumberConverter.CONTEXT_FRACTION_NUMBER);
+
+                IntegerConverter integerConverter = new IntegerConverter();
+                registerConverter(Integer.class, integerConverter);
+                registerConverter(int.class, integerConverter);
+
+                NaturalNumberConverter naturalNumberConverter = new NaturalNumberConverter();
+                registerConverter(Integer.class, naturalNumberConverter, NaturalNumberConverter.CONTEXT);
+                registerConverter(int.class, naturalNumberConverter, NaturalNumberConverter.CONTEXT);
+
+                LongConverter longConverter = new LongConverter();
+                registerConverter(Long.class, longConverter);
+                registerConverter(long.class, longConverter);
+
+                DoubleConverter doubleConverter = new DoubleConverter();
+                registerConverter(Double.class, doubleConverter);
+                registerConverter(double.class, doubleConverter);
+
+                FloatConverter floatConverter = new FloatConverter();
+                registerConverter(Float.class, floatConverter);
+                registerConverter(float.class, floatConverter);
+
+                ShortConverter shortConverter = new ShortConverter();
+                registerConverter(Short.class, shortConverter);
+                registerConverter(short.class, shortConverter);
+
+                ByteConverter byteConverter = new ByteConverter();
+                registerConverter(Byte.class, byteConverter);
+                registerConverter(byte.class, byteConverter);
+
+                registerConverter(Rectangle.class, new RectangleConverter());
+                registerConverter(Point.class, new PointConverter());
+                registerConverter(Insets.class, new InsetsConverter());
+                registerConverter(Dimension.class, new DimensionConverter());
+
+                BooleanConverter booleanConverter = new BooleanConverter();
+                registerConverter(Boolean.class, booleanConverter);
+                registerConverter(boolean.class, booleanConverter);
+
+                registerConverter(File.class, new FileConverter());
+                registerConverter(String.class, new FontNameConverter(), FontNameConverter.CONTEXT);
+
+                DateConverter dateConverter = new DateConverter();
+                registerConverter(Date.class, dateConverter);
+                registerConverter(Date.class, dateConverter, DateConverter.DATETIME_CONTEXT);
+                registerConverter(Date.class, dateConverter, DateConverter.TIME_CONTEXT);
+
+                CalendarConverter calendarConverter = new CalendarConverter();
+                registerConverter(Calendar.class, calendarConverter);
+                registerConverter(Calendar.class, calendarConverter, DateConverter.DATETIME_CONTEXT);
+                registerConverter(Calendar.class, calendarConverter, DateConverter.TIME_CONTEXT);
+
+                registerConverter(Calendar.class, new MonthConverter(), MonthConverter.CONTEXT_MONTH);
+                registerConverter(Color.class, new RgbColorConverter());
+                registerConverter(Color.class, new HexColorConverter(), ColorConverter.CONTEXT_HEX);
+                registerConverter(Color.class, new RgbColorConverter(true), ColorConverter.CONTEXT_RGBA);
+                registerConverter(Color.class, new HexColorConverter(true), ColorConverter.CONTEXT_HEX_WITH_ALPHA);
+
+                registerConverter(String[].class, new StringArrayConverter());
+
+                QuarterNameConverter quarterNameConverter = new QuarterNameConverter();
+                registerConverter(int.class, quarterNameConverter, QuarterNameConverter.CONTEXT);
+                registerConverter(Integer.class, quarterNameConverter, QuarterNameConverter.CONTEXT);
+
+                registerConverter(Font.class, new FontConverter());
+                registerConverter(String.class, new MultilineStringConverter(), MultilineStringConverter.CONTEXT);
+
+                CurrencyConverter currencyConverter = new CurrencyConverter();
+                registerConverter(Float.class, currencyConverter, CurrencyConverter.CONTEXT);
+                registerConverter(float.class, currencyConverter, CurrencyConverter.CONTEXT);
+                registerConverter(Double.class, currencyConverter, CurrencyConverter.CONTEXT);
+                registerConverter(double.class, currencyConverter, CurrencyConverter.CONTEXT);
+
+                PercentConverter percentConverter = new PercentConverter();
+                registerConverter(Float.class, percentConverter, PercentConverter.CONTEXT);
+                registerConverter(float.class, percentConverter, PercentConverter.CONTEXT);
+                registerConverter(Double.class, percentConverter, PercentConverter.CONTEXT);
+                registerConverter(double.class, percentConverter, PercentConverter.CONTEXT);
+
+                MonthNameConverter monthNameConverter = new MonthNameConverter();
+                registerConverter(Integer.class, monthNameConverter, MonthNameConverter.CONTEXT);
+                registerConverter(int.class, monthNameConverter, MonthNameConverter.CONTEXT);
+
+                YearNameConverter yearNameConverter = new YearNameConverter();
+                registerConverter(Integer.class, yearNameConverter, YearNameConverter.CONTEXT);
+                registerConverter(int.class, yearNameConverter, YearNameConverter.CONTEXT);
+
+                ObjectConverterManager.registerConverter(int[].class, new DefaultArrayConverter("; ", int.class));
+                registerConverter(Object[].class, new DefaultArrayConverter("; ", Object.class));
+                registerConverter(Enum[].class, new DefaultArrayConverter("; ", Enum.class));
+                registerConverter(String[].class, new DefaultArrayConverter("; ", String.class));
+                registerConverter(Date[].class, new DefaultArrayConverter("; ", Date.class));
+                registerConverter(Calendar[].class, new DefaultArrayConverter("; ", Calendar.class));
+                registerConverter(Number[].class, new DefaultArrayConverter("; ", Number.class));
+                registerConverter(Integer[].class, new DefaultArrayConverter("; ", Integer.class));
+                registerConverter(Float[].class, new DefaultArrayConverter("; ", Float.class));
+                registerConverter(Double[].class, new DefaultArrayConverter("; ", Double.class));
+                registerConverter(Long[].class, new DefaultArrayConverter("; ", Long.class));
+                registerConverter(Short[].class, new DefaultArrayConverter("; ", Short.class));
+                registerConverter(int[].class, new DefaultArrayConverter("; ", int.class));
+                registerConverter(float[].class, new DefaultArrayConverter("; ", float.class));
+                registerConverter(double[].class, new DefaultArrayConverter("; ", double.class));
+                registerConverter(long[].class, new DefaultArrayConverter("; ", long.class));
+                registerConverter(short[].class, new DefaultArrayConverter("; ", short.class));
+
+                registerConverter(BigDecimal.class, new BigDecimalConverter());
+            }
+            finally {
+                _initing = false;
+                _inited = true;
+            }
         }
-
     }
 
     /**
@@ -18,7 +18,7 @@ import java.util.Date;
  */
 public class ObjectGrouperManager {
 
-    private static CacheMap<ObjectGrouper, GrouperContext> _cache = new CacheMap<ObjectGrouper, GrouperContext>(GrouperContext.DEFAULT_CONTEXT);
+    private static CacheMap<ObjectGrouper, GrouperContext> _cache = new CacheMap<ObjectGrouper, GrouperContext>(GrouperContext.DEFAULT_CONTEXT, true);
 
     private static ObjectGrouper _defaultGrouper = null;
 
@@ -38,7 +38,7 @@ public class ObjectGrouperManager {
             context = GrouperContext.DEFAULT_CONTEXT;
         }
 
-        if (isAutoInit() && !_initing) {
+        if (isAutoInit() && !_inited) {
             initDefaultGrouper();
         }
 
@@ -167,9 +167,9 @@ public class ObjectGrouperManager {
         return null;
     }
 
-    private static boolean _inited = false;
-    private static boolean _initing = false;
-    private static boolean _autoInit = true;
+    private static volatile boolean _inited = false;
+    private static volatile boolean _initing = false;
+    private static volatile boolean _autoInit = true;
 
     /**
      * Checks the value of autoInit.
@@ -257,24 +257,29 @@ public class ObjectGrouperManager {
             return;
         }
 
-        _initing = true;
-
-        try {
-            DateYearGrouper dateYearGrouper = new DateYearGrouper();
-            registerGrouper(Date.class, dateYearGrouper, DateYearGrouper.CONTEXT);
-            registerGrouper(Calendar.class, dateYearGrouper, DateYearGrouper.CONTEXT);
-            registerGrouper(Long.class, dateYearGrouper, DateYearGrouper.CONTEXT);
-
-            DateMonthGrouper dateMonthGrouper = new DateMonthGrouper();
-            registerGrouper(Date.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
-            registerGrouper(Calendar.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
-            registerGrouper(Long.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
+        synchronized (ObjectGrouperManager.class) {
+            if (_inited || _initing) {
+                return;
+            }
+
+            _initing = true;
+
+            try {
+                DateYearGrouper dateYearGrouper = new DateYearGrouper();
+                registerGrouper(Date.class, dateYearGrouper, DateYearGrouper.CONTEXT);
+                registerGrouper(Calendar.class, dateYearGrouper, DateYearGrouper.CONTEXT);
+                registerGrouper(Long.class, dateYearGrouper, DateYearGrouper.CONTEXT);
+
+                DateMonthGrouper dateMonthGrouper = new DateMonthGrouper();
+                registerGrouper(Date.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
+                registerGrouper(Calendar.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
+                registerGrouper(Long.class, dateMonthGrouper, DateMonthGrouper.CONTEXT);
+            }
+            finally {
+                _initing = false;
+                _inited = true;
+            }
         }
-        finally {
-            _initing = false;
-            _inited = true;
-        }
-
     }
 
     /**
@@ -9,18 +9,19 @@ import java.util.Locale;
 public class DateDayOfMonthGrouper extends DateGrouper {
     public static GrouperContext CONTEXT = new GrouperContext("DateDayOfMonth");
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
             Calendar cal = Calendar.getInstance();
             cal.set(Calendar.MONTH, 0);
             cal.set(Calendar.DAY_OF_MONTH, 1);
-            _groups = new Object[cal.getMaximum(Calendar.DAY_OF_MONTH)];
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = getCalendarField(cal, Calendar.DAY_OF_MONTH);
+            Object[] groups = new Object[cal.getMaximum(Calendar.DAY_OF_MONTH)];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = getCalendarField(cal, Calendar.DAY_OF_MONTH);
                 cal.roll(Calendar.DAY_OF_MONTH, 1);
             }
+            _groups = groups;
         }
         return _groups;
     }
@@ -10,17 +10,18 @@ public class DateDayOfWeekGrouper extends DateGrouper {
 
     public static GrouperContext CONTEXT = new GrouperContext("DateDayOfWeek");
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
             Calendar cal = Calendar.getInstance();
             cal.set(Calendar.DAY_OF_WEEK, 0);
-            _groups = new Object[cal.getMaximum(Calendar.DAY_OF_WEEK)];
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = i + 1;
+            Object[] groups = new Object[cal.getMaximum(Calendar.DAY_OF_WEEK)];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = i + 1;
                 cal.roll(Calendar.DAY_OF_WEEK, 1);
             }
+            _groups = groups;
         }
         return _groups;
     }
@@ -15,17 +15,18 @@ import java.util.Locale;
 public class DateDayOfWeekInMonthGrouper extends DateGrouper {
     public static GrouperContext CONTEXT = new GrouperContext("DateDayOfWeekInMonth");
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
             Calendar cal = Calendar.getInstance();
             cal.set(Calendar.DAY_OF_WEEK_IN_MONTH, 0);
-            _groups = new Object[cal.getMaximum(Calendar.DAY_OF_WEEK_IN_MONTH)];
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = getCalendarField(cal, Calendar.DAY_OF_WEEK_IN_MONTH);
+            Object[] groups = new Object[cal.getMaximum(Calendar.DAY_OF_WEEK_IN_MONTH)];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = getCalendarField(cal, Calendar.DAY_OF_WEEK_IN_MONTH);
                 cal.roll(Calendar.DAY_OF_WEEK_IN_MONTH, 1);
             }
+            _groups = groups;
         }
         return _groups;
     }
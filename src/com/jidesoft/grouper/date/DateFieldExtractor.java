@@ -0,0 +1,137 @@
+/*
+ * @(#)DateFieldExtractor.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package com.jidesoft.grouper.date;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * <code>DateFieldExtractor</code> gets the calendar fields of a time in milliseconds. The date fields (year, month,
+ * day of month, week of year etc.) only change at day boundaries, so it caches them per day along with the start and
+ * the end of that day in its time zone. Getting a date field of a time whose day is in the cache is a range check and
+ * an array lookup, without touching the <code>Calendar</code> or creating any object.
+ * <p/>
+ * A <code>DateFieldExtractor</code> is not thread safe. Use {@link #getInstance()} to get the instance confined to the
+ * current thread.
+ */
+public class DateFieldExtractor {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int SLOTS = 512; // must be a power of 2
+
+    private static final int[] FIELDS = {
+            Calendar.ERA, Calendar.YEAR, Calendar.MONTH, Calendar.WEEK_OF_YEAR, Calendar.WEEK_OF_MONTH,
+            Calendar.DAY_OF_MONTH, Calendar.DAY_OF_YEAR, Calendar.DAY_OF_WEEK, Calendar.DAY_OF_WEEK_IN_MONTH
+    };
+    private static final int[] FIELD_INDICES = new int[Calendar.FIELD_COUNT];
+
+    static {
+        for (int i = 0; i < FIELD_INDICES.length; i++) {
+            FIELD_INDICES[i] = -1;
+        }
+        for (int i = 0; i < FIELDS.length; i++) {
+            FIELD_INDICES[FIELDS[i]] = i;
+        }
+    }
+
+    private static final ThreadLocal<DateFieldExtractor> INSTANCE = new ThreadLocal<DateFieldExtractor>() {
+        @Override
+        protected DateFieldExtractor initialValue() {
+            return new DateFieldExtractor(TimeZone.getDefault(), Locale.getDefault());
+        }
+    };
+
+    private final Calendar _calendar;
+    private final int _rawOffset;
+
+    // a direct mapped cache of days. A slot is valid if the time falls in [_dayStarts[slot], _dayEnds[slot]).
+    private final long[] _dayStarts = new long[SLOTS];
+    private final long[] _dayEnds = new long[SLOTS];
+    private final Integer[][] _dayFields = new Integer[SLOTS][];
+
+    /**
+     * Creates a <code>DateFieldExtractor</code>.
+     *
+     * @param zone   the time zone.
+     * @param locale the locale. It decides the first day of week and the minimal days in the first week.
+     */
+    public DateFieldExtractor(TimeZone zone, Locale locale) {
+        _calendar = Calendar.getInstance(zone, locale);
+        _rawOffset = zone.getRawOffset();
+    }
+
+    /**
+     * Gets the <code>DateFieldExtractor</code> of the current thread. It uses the default time zone and locale at the
+     * time the thread first called this method.
+     *
+     * @return the <code>DateFieldExtractor</code> of the current thread.
+     */
+    public static DateFieldExtractor getInstance() {
+        return INSTANCE.get();
+    }
+
+    /**
+     * Gets the value of the calendar field.
+     *
+     * @param millis the time in milliseconds.
+     * @param field  the calendar field such as <code>Calendar.YEAR</code>.
+     * @return the value of the field.
+     */
+    public int get(long millis, int field) {
+        int index = FIELD_INDICES[field];
+        if (index == -1) {
+            _calendar.setTimeInMillis(millis);
+            return _calendar.get(field);
+        }
+        return getDayFields(millis)[index];
+    }
+
+    /**
+     * Gets the value of the calendar field as an <code>Integer</code>. The <code>Integer</code>s of the date fields are
+     * cached too, so it doesn't create a new <code>Integer</code> for each call.
+     *
+     * @param millis the time in milliseconds.
+     * @param field  the calendar field such as <code>Calendar.YEAR</code>.
+     * @return the value of the field.
+     */
+    public Integer getValue(long millis, int field) {
+        int index = FIELD_INDICES[field];
+        if (index == -1) {
+            _calendar.setTimeInMillis(millis);
+            return _calendar.get(field);
+        }
+        return getDayFields(millis)[index];
+    }
+
+    private Integer[] getDayFields(long millis) {
+        long local = millis + _rawOffset;
+        long day = local >= 0 ? local / DAY : (local + 1) / DAY - 1;
+        int slot = (int) day & (SLOTS - 1);
+        if (millis >= _dayStarts[slot] && millis < _dayEnds[slot]) {
+            return _dayFields[slot];
+        }
+
+        Calendar calendar = _calendar;
+        calendar.setTimeInMillis(millis);
+        Integer[] fields = new Integer[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            fields[i] = calendar.get(FIELDS[i]);
+        }
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        long end = calendar.getTimeInMillis();
+
+        _dayStarts[slot] = start;
+        _dayEnds[slot] = end;
+        _dayFields[slot] = fields;
+        return fields;
+    }
+}
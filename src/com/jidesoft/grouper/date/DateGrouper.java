@@ -9,18 +9,24 @@ import java.util.Date;
  * An abstract Grouper which can take data type such as Date, Calendar or Long and provide {@link
  * #getCalendarFieldAsInt(Object,int)} and {@link #getCalendarField(Object,int)} methods to access the field of the
  * Calendar.
+ * <p/>
+ * Date and Long values are converted using the {@link DateFieldExtractor} of the current thread, so the groupers can be
+ * used from several threads at the same time.
  */
 abstract public class DateGrouper extends AbstractObjectGrouper {
+    /**
+     * @deprecated it is not used anymore as a shared <code>Calendar</code> is not thread safe. Date and Long values are
+     *             converted by {@link DateFieldExtractor#getInstance()}.
+     */
+    @Deprecated
     protected static Calendar INSTANCE = Calendar.getInstance();
 
     public static Object getCalendarField(Object value, int field) {
         if (value instanceof Date) {
-            INSTANCE.setTime(((Date) value));
-            return INSTANCE.get(field);
+            return DateFieldExtractor.getInstance().getValue(((Date) value).getTime(), field);
         }
         else if (value instanceof Long) {
-            INSTANCE.setTime(new Date((Long) value));
-            return INSTANCE.get(field);
+            return DateFieldExtractor.getInstance().getValue((Long) value, field);
         }
         else if (value instanceof Calendar) {
             return ((Calendar) value).get(field);
@@ -35,12 +41,10 @@ abstract public class DateGrouper extends AbstractObjectGrouper {
 
     public static int getCalendarFieldAsInt(Object value, int field) {
         if (value instanceof Date) {
-            INSTANCE.setTime(((Date) value));
-            return INSTANCE.get(field);
+            return DateFieldExtractor.getInstance().get(((Date) value).getTime(), field);
         }
         else if (value instanceof Long) {
-            INSTANCE.setTime(new Date((Long) value));
-            return INSTANCE.get(field);
+            return DateFieldExtractor.getInstance().get((Long) value, field);
         }
         else if (value instanceof Calendar) {
             return ((Calendar) value).get(field);
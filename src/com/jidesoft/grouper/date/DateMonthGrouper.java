@@ -11,17 +11,18 @@ import java.util.Locale;
 public class DateMonthGrouper extends DateGrouper {
     public static GrouperContext CONTEXT = new GrouperContext("DateMonth");
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
             Calendar cal = Calendar.getInstance();
             cal.set(Calendar.MONTH, 0);
-            _groups = new Object[cal.getMaximum(Calendar.MONTH) + 1];
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = getCalendarField(cal, Calendar.MONTH);
+            Object[] groups = new Object[cal.getMaximum(Calendar.MONTH) + 1];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = getCalendarField(cal, Calendar.MONTH);
                 cal.roll(Calendar.MONTH, 1);
             }
+            _groups = groups;
         }
         return _groups;
     }
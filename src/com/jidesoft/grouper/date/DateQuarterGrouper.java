@@ -17,14 +17,15 @@ import java.util.Locale;
 public class DateQuarterGrouper extends DateGrouper {
     public static GrouperContext CONTEXT = new GrouperContext("DateQuarter");
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
-            _groups = new Object[4];
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = i;
+            Object[] groups = new Object[4];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = i;
             }
+            _groups = groups;
         }
         return _groups;
     }
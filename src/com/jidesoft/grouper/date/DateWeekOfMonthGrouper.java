@@ -10,7 +10,7 @@ public class DateWeekOfMonthGrouper extends DateGrouper {
     public static GrouperContext CONTEXT = new GrouperContext("DateWeekOfMonth");
 
 
-    private static Object[] _groups = null;
+    private static volatile Object[] _groups = null;
 
     public static Object[] getAvailableGroups() {
         if (_groups == null) {
@@ -18,11 +18,12 @@ public class DateWeekOfMonthGrouper extends DateGrouper {
             cal.set(Calendar.YEAR, 2010);
             cal.set(Calendar.MONTH, 0);
             cal.set(Calendar.DAY_OF_MONTH, 1);
-            _groups = new Object[6]; // maximum 6 weeks in a month
-            for (int i = 0; i < _groups.length; i++) {
-                _groups[i] = getCalendarField(cal, Calendar.WEEK_OF_MONTH);
+            Object[] groups = new Object[6]; // maximum 6 weeks in a month
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = getCalendarField(cal, Calendar.WEEK_OF_MONTH);
                 cal.roll(Calendar.WEEK_OF_MONTH, 1);
             }
+            _groups = groups;
         }
         return _groups;
     }
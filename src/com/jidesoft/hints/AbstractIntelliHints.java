@@ -18,6 +18,13 @@ import javax.swing.text.BadLocationException;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 
 /**
@@ -44,6 +51,16 @@ public abstract class AbstractIntelliHints implements IntelliHints {
     private boolean _autoPopup = true;
     private int _showHintsDelay = 200;
 
+    private boolean _asynchronous = false;
+    private Executor _hintsExecutor;
+    private volatile int _hintsGeneration;
+    private FutureTask<?> _hintsTask;
+
+    private static ExecutorService _defaultHintsExecutor;
+
+    // collects the component updates made by updateHints while it runs on a background thread
+    private static final ThreadLocal<List<Runnable>> PENDING_UPDATES = new ThreadLocal<List<Runnable>>();
+
     /**
      * Creates an IntelliHints object for a given JTextComponent.
      *
@@ -204,6 +221,10 @@ public abstract class AbstractIntelliHints implements IntelliHints {
     /**
      * Shows the hints popup which contains the hints. It will call {@link #updateHints(Object)}. Only if it returns
      * true, the popup will be shown. You can call this method to fore the hints to be displayed.
+     * <p/>
+     * If {@link #isAsynchronous()} is true, {@link #updateHints(Object)} is called on the {@link #getHintsExecutor()}
+     * and the popup is shown or hidden later on the event dispatch thread. Any computation that is still running
+     * for an earlier context is cancelled and its result is discarded.
      */
     public void showHints() {
         if (_popup == null) {
@@ -223,7 +244,17 @@ public abstract class AbstractIntelliHints implements IntelliHints {
                 }
             });
         }
-        if (updateHints(getContext())) {
+        if (isAsynchronous()) {
+            updateHintsAsynchronously(getContext());
+        }
+        else {
+            cancelHintsUpdate();
+            updatePopup(updateHints(getContext()));
+        }
+    }
+
+    private void updatePopup(boolean hasHints) {
+        if (hasHints) {
             if (!isHintsPopupVisible()) {
                 DelegateAction.replaceAction(getTextComponent(), JComponent.WHEN_FOCUSED, KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), hideAction);
                 DelegateAction.replaceAction(getTextComponent(), JComponent.WHEN_FOCUSED, KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), acceptAction, true);
@@ -328,6 +359,7 @@ public abstract class AbstractIntelliHints implements IntelliHints {
      * Hides the hints popup.
      */
     protected void hideHintsPopup() {
+        cancelHintsUpdate();
         if (_popup != null) {
             _popup.hidePopup();
         }
@@ -511,6 +543,7 @@ public abstract class AbstractIntelliHints implements IntelliHints {
         }
 
         void startTimer() {
+            timer.setInitialDelay(getShowHintsDelay());
             if (timer.isRunning()) {
                 timer.restart();
             }
@@ -521,6 +554,138 @@ public abstract class AbstractIntelliHints implements IntelliHints {
         }
     };
 
+    private void updateHintsAsynchronously(final Object context) {
+        cancelHintsUpdate();
+        final int generation = _hintsGeneration;
+        FutureTask<Object> task = new FutureTask<Object>(new Runnable() {
+            public void run() {
+                if (generation != _hintsGeneration) {
+                    return;
+                }
+                final List<Runnable> updates = new ArrayList<Runnable>();
+                final boolean hasHints;
+                PENDING_UPDATES.set(updates);
+                try {
+                    hasHints = updateHints(context);
+                }
+                finally {
+                    PENDING_UPDATES.remove();
+                }
+                if (generation != _hintsGeneration) {
+                    return;
+                }
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        // only the result for the latest context is published
+                        if (generation != _hintsGeneration || _popup == null) {
+                            return;
+                        }
+                        _hintsTask = null;
+                        for (Runnable update : updates) {
+                            update.run();
+                        }
+                        updatePopup(hasHints);
+                    }
+                });
+            }
+        }, null);
+        _hintsTask = task;
+        getHintsExecutor().execute(task);
+    }
+
+    /**
+     * Cancels the hints computation that is running in the background, if any. The result of a cancelled computation
+     * is never published.
+     */
+    protected void cancelHintsUpdate() {
+        _hintsGeneration++;
+        if (_hintsTask != null) {
+            _hintsTask.cancel(true);
+            _hintsTask = null;
+        }
+    }
+
+    /**
+     * Applies a change to the hints component. Subclasses should route every change they make to Swing components
+     * inside {@link #updateHints(Object)} through this method. When the hints are computed synchronously, the update
+     * runs right away. When they are computed in the background, the update is deferred and runs on the event dispatch
+     * thread only if the result of the computation is published.
+     *
+     * @param update the update to the hints component.
+     */
+    protected void updateHintsComponent(Runnable update) {
+        List<Runnable> pending = PENDING_UPDATES.get();
+        if (pending != null) {
+            pending.add(update);
+        }
+        else {
+            update.run();
+        }
+    }
+
+    /**
+     * Checks if the hints are computed in the background.
+     *
+     * @return true if {@link #updateHints(Object)} is called on the hints executor. False if it is called on the event
+     *         dispatch thread.
+     * @see #setAsynchronous(boolean)
+     */
+    public boolean isAsynchronous() {
+        return _asynchronous;
+    }
+
+    /**
+     * Sets whether the hints are computed in the background. You should turn this on if {@link #updateHints(Object)}
+     * is expensive, for example if it reads the file system or queries a database. The implementation of updateHints
+     * must then be thread safe and should apply changes to Swing components through {@link
+     * #updateHintsComponent(Runnable)}.
+     * <p/>
+     * By default, it is false.
+     *
+     * @param asynchronous true to compute the hints in the background.
+     */
+    public void setAsynchronous(boolean asynchronous) {
+        if (!asynchronous) {
+            cancelHintsUpdate();
+        }
+        _asynchronous = asynchronous;
+    }
+
+    /**
+     * Gets the executor that computes the hints when {@link #isAsynchronous()} is true. If no executor is set, a shared
+     * executor with daemon threads is used.
+     *
+     * @return the executor.
+     */
+    public Executor getHintsExecutor() {
+        if (_hintsExecutor == null) {
+            return getDefaultHintsExecutor();
+        }
+        return _hintsExecutor;
+    }
+
+    /**
+     * Sets the executor that computes the hints when {@link #isAsynchronous()} is true.
+     *
+     * @param hintsExecutor the executor. Null to use the shared default executor.
+     */
+    public void setHintsExecutor(Executor hintsExecutor) {
+        _hintsExecutor = hintsExecutor;
+    }
+
+    private static synchronized Executor getDefaultHintsExecutor() {
+        if (_defaultHintsExecutor == null) {
+            _defaultHintsExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "IntelliHints");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return _defaultHintsExecutor;
+    }
+
     private boolean isKeyTyped() {
         return _keyTyped;
     }
@@ -540,7 +705,8 @@ public abstract class AbstractIntelliHints implements IntelliHints {
     }
 
     /**
-     * Sets the delay after the key is pressed to show hints.
+     * Sets the delay after the key is pressed to show hints. Each key stroke within the delay restarts it, so the hints
+     * are only updated once the user pauses typing.
      * <p/>
      * By default, the delay time is 200ms.
      *
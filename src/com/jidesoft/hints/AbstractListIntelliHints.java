@@ -111,39 +111,48 @@ public abstract class AbstractListIntelliHints extends AbstractIntelliHints {
     }
 
     /**
-     * Sets the list data.
+     * Sets the list data. If the hints are computed in the background, the list is updated later on the event dispatch
+     * thread.
      *
      * @param objects
      */
-    protected void setListData(Object[] objects) {
+    protected void setListData(final Object[] objects) {
         if (getList() == null) {
             return;
         }
-        resetSelection();
-        getList().setListData(objects);
-
-        // update the view so that isViewSizeSet flag in JViewport is reset to false
-        if (_scroll != null) {
-            _scroll.setViewportView(getList());
-        }
-
+        updateHintsComponent(new Runnable() {
+            public void run() {
+                resetSelection();
+                getList().setListData(objects);
+
+                // update the view so that isViewSizeSet flag in JViewport is reset to false
+                if (_scroll != null) {
+                    _scroll.setViewportView(getList());
+                }
+            }
+        });
     }
 
     /**
-     * Sets the list data.
+     * Sets the list data. If the hints are computed in the background, the list is updated later on the event dispatch
+     * thread.
      *
      * @param objects
      */
-    protected void setListData(Vector<?> objects) {
+    protected void setListData(final Vector<?> objects) {
         if (getList() == null) {
             return;
         }
-        resetSelection();
-        getList().setListData(objects);
-        // update the view so that isViewSizeSet flag in JViewport is reset to false
-        if (_scroll != null) {
-            _scroll.setViewportView(getList());
-        }
+        updateHintsComponent(new Runnable() {
+            public void run() {
+                resetSelection();
+                getList().setListData(objects);
+                // update the view so that isViewSizeSet flag in JViewport is reset to false
+                if (_scroll != null) {
+                    _scroll.setViewportView(getList());
+                }
+            }
+        });
     }
 
     private void resetSelection() {
@@ -185,4 +194,4 @@ public abstract class AbstractListIntelliHints extends AbstractIntelliHints {
         }
         return _keyStrokes;
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -5,18 +5,25 @@
  */
 package com.jidesoft.hints;
 
+import com.jidesoft.utils.DirectoryListingCache;
+
 import javax.swing.*;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <code>FileIntelliHints</code> is a concrete implementation of {@link com.jidesoft.hints.IntelliHints}.
  * It allows user to type in a file patch quickly by providing them the hints based on what
  * is existed on file system. You can use {@link #setFolderOnly(boolean)} to control if
  * the hints contain only the folders, or folders and files.
+ * <p/>
+ * The directory listings are read through {@link DirectoryListingCache#getSharedInstance()}, so typing in the same
+ * directory filters the cached names instead of listing the directory again.
  */
 public class FileIntelliHints extends AbstractListIntelliHints {
     private boolean _folderOnly = false;
@@ -80,27 +87,39 @@ public class FileIntelliHints extends AbstractListIntelliHints {
             return false;
         String dir = s.substring(0, index + 1);
         final String prefix = index == s.length() - 1 ? null : s.substring(index + 1).toLowerCase();
-        String[] files = new File(dir).list(new FilenameFilter() {
-            public boolean accept(File dir, String name) {
-                if (isFolderOnly()) {
-                    if (new File(dir.getAbsolutePath() + File.separator + name).isFile()) {
-                        return false;
-                    }
+        File directory = new File(dir);
+        DirectoryListingCache.Entry[] entries = DirectoryListingCache.getSharedInstance().list(directory);
+        String[] files = null;
+        if (entries != null) {
+            FilenameFilter filter = getFilter();
+            List<String> names = new ArrayList<String>();
+            for (DirectoryListingCache.Entry entry : entries) {
+                if (isFolderOnly() && !entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName();
+                if (prefix != null && !name.toLowerCase().startsWith(prefix)) {
+                    continue;
                 }
-                boolean result = prefix == null || name.toLowerCase().startsWith(prefix);
-                if (result && getFilter() != null) {
-                    return getFilter().accept(dir, name);
+                if (filter != null && !filter.accept(directory, name)) {
+                    continue;
                 }
-                return result;
+                names.add(name);
             }
-        });
+            files = names.toArray(new String[names.size()]);
+        }
 
         if (files == null || files.length == 0 || (files.length == 1 && files[0].equalsIgnoreCase(prefix))) {
             setListData(new String[0]);
             return false;
         }
         else {
-            getList().setCellRenderer(new PrefixListCellRenderer(isShowFullPath() ? dir : ""));
+            final String rendererPrefix = isShowFullPath() ? dir : "";
+            updateHintsComponent(new Runnable() {
+                public void run() {
+                    getList().setCellRenderer(new PrefixListCellRenderer(rendererPrefix));
+                }
+            });
             setListData(files);
             return true;
         }
@@ -164,4 +183,4 @@ public class FileIntelliHints extends AbstractListIntelliHints {
             return super.getListCellRendererComponent(list, _prefix + value, index, isSelected, cellHasFocus);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
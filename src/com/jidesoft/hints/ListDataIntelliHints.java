@@ -6,19 +6,42 @@
 package com.jidesoft.hints;
 
 import javax.swing.text.JTextComponent;
-import java.util.AbstractList;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * <code>ListDataIntelliHints</code> is a concrete implementation of {@link com.jidesoft.hints.IntelliHints}. It
  * provides hints from a known list of data. It is similar to auto complete text field except the list will be filtered
  * depending on what user types in so far.
+ * <p/>
+ * For a large completion list, you can call {@link #setPrefixIndexEnabled(boolean)} so that the hints are found using
+ * binary search in a sorted index of the list instead of comparing every element on each keystroke. You can also limit
+ * the number of hints using {@link #setMaximumHintCount(int)}.
  */
 public class ListDataIntelliHints<T> extends AbstractListIntelliHints {
 
-    private boolean _caseSensitive = false;
-    private List<T> _completionList;
+    // volatile because updateHints may run on another thread, see setAsynchronous
+    private volatile boolean _caseSensitive = false;
+    private volatile List<T> _completionList;
+    private boolean _prefixIndexEnabled = false;
+    private volatile int _maximumHintCount = -1;
+
+    // the prefix index. Null if not enabled. It is replaced as a whole so updateHints always sees a consistent index.
+    private volatile PrefixIndex _prefixIndex;
+
+    /**
+     * The sorted keys and the element of each key, built with the case sensitivity at that time.
+     */
+    private static final class PrefixIndex {
+        final String[] keys;
+        final Object[] values;
+        final boolean caseSensitive;
+
+        PrefixIndex(String[] keys, Object[] values, boolean caseSensitive) {
+            this.keys = keys;
+            this.values = values;
+            this.caseSensitive = caseSensitive;
+        }
+    }
 
     public ListDataIntelliHints(JTextComponent comp, List<T> completionList) {
         super(comp);
@@ -46,6 +69,7 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints {
      */
     public void setCompletionList(List<T> completionList) {
         _completionList = completionList;
+        rebuildPrefixIndex();
     }
 
     /**
@@ -66,14 +90,25 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints {
                 return list.length;
             }
         };
+        rebuildPrefixIndex();
     }
 
     public boolean updateHints(Object context) {
         if (context == null) {
             return false;
         }
+        PrefixIndex prefixIndex = _prefixIndex;
+        if (prefixIndex != null) {
+            Object[] objects = findHintsInIndex(prefixIndex, context.toString());
+            setListData(objects);
+            return objects.length > 0;
+        }
+        int maximumHintCount = getMaximumHintCount();
         List<T> possibleHints = new ArrayList<T>();
         for (T o : getCompletionList()) {
+            if (maximumHintCount >= 0 && possibleHints.size() >= maximumHintCount) {
+                break;
+            }
             if (compare(context, o)) possibleHints.add(o);
         }
 
@@ -120,7 +155,153 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints {
      * @param caseSensitive true or false.
      */
     public void setCaseSensitive(boolean caseSensitive) {
-        _caseSensitive = caseSensitive;
+        if (_caseSensitive != caseSensitive) {
+            _caseSensitive = caseSensitive;
+            rebuildPrefixIndex();
+        }
+    }
+
+    /**
+     * Checks if the prefix index is enabled. By default it's false.
+     *
+     * @return true if the prefix index is enabled.
+     * @see #setPrefixIndexEnabled(boolean)
+     */
+    public boolean isPrefixIndexEnabled() {
+        return _prefixIndexEnabled;
+    }
+
+    /**
+     * Enables or disables the prefix index. If enabled, the <code>toString()</code> of all the elements in the
+     * completion list are sorted into an index when the completion list is set. The hints are then found by a binary
+     * search of the typed text in the index, so {@link #compare(Object, Object)} will not be called and the hints will
+     * appear in alphabetical order rather than in the order of the completion list.
+     * <p/>
+     * The index is rebuilt when {@link #setCompletionList(java.util.List)} or {@link #setCaseSensitive(boolean)} is
+     * called. If you change the content of the completion list directly, you need to set it again to update the index.
+     *
+     * @param prefixIndexEnabled true to enable the prefix index.
+     */
+    public void setPrefixIndexEnabled(boolean prefixIndexEnabled) {
+        if (_prefixIndexEnabled != prefixIndexEnabled) {
+            _prefixIndexEnabled = prefixIndexEnabled;
+            rebuildPrefixIndex();
+        }
+    }
+
+    /**
+     * Gets the maximum number of hints to show. -1 means no limit, which is the default.
+     *
+     * @return the maximum number of hints.
+     */
+    public int getMaximumHintCount() {
+        return _maximumHintCount;
+    }
+
+    /**
+     * Sets the maximum number of hints to show. -1 means no limit.
+     *
+     * @param maximumHintCount the maximum number of hints.
+     */
+    public void setMaximumHintCount(int maximumHintCount) {
+        _maximumHintCount = maximumHintCount;
+    }
+
+    private void rebuildPrefixIndex() {
+        List<T> list = getCompletionList();
+        if (!isPrefixIndexEnabled() || list == null) {
+            _prefixIndex = null;
+            return;
+        }
+        boolean caseSensitive = isCaseSensitive();
+
+        // copied once so that a LinkedList isn't accessed by index
+        Object[] elements = list.toArray();
+        int size = elements.length;
+        final String[] keys = new String[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Object o = elements[i];
+            keys[i] = toIndexKey(o == null ? "" : o.toString(), caseSensitive);
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                return keys[o1].compareTo(keys[o2]);
+            }
+        });
+
+        String[] indexKeys = new String[size];
+        Object[] indexValues = new Object[size];
+        for (int i = 0; i < size; i++) {
+            indexKeys[i] = keys[order[i]];
+            indexValues[i] = elements[order[i]];
+        }
+        _prefixIndex = new PrefixIndex(indexKeys, indexValues, caseSensitive);
+    }
+
+    /**
+     * Converts a string to the key used in the prefix index. If not case sensitive, each character is folded the same
+     * way as <code>String.equalsIgnoreCase</code> compares characters.
+     *
+     * @param s             the string
+     * @param caseSensitive true if the index is case sensitive
+     * @return the key.
+     */
+    private static String toIndexKey(String s, boolean caseSensitive) {
+        if (caseSensitive) {
+            return s;
+        }
+        char[] chars = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded != c) {
+                if (chars == null) {
+                    chars = s.toCharArray();
+                }
+                chars[i] = folded;
+            }
+        }
+        return chars == null ? s : new String(chars);
+    }
+
+    private Object[] findHintsInIndex(PrefixIndex prefixIndex, String text) {
+        String[] keys = prefixIndex.keys;
+        String prefix = toIndexKey(text, prefixIndex.caseSensitive);
+
+        // the keys starting with the prefix are all in one range of the sorted keys
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int from = low;
+        high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+
+        int count = low - from;
+        int maximumHintCount = getMaximumHintCount();
+        if (maximumHintCount >= 0 && count > maximumHintCount) {
+            count = maximumHintCount;
+        }
+        Object[] objects = new Object[count];
+        System.arraycopy(prefixIndex.values, from, objects, 0, count);
+        return objects;
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
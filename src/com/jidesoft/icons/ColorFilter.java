@@ -12,29 +12,38 @@ import java.awt.image.RGBImageFilter;
 
 /**
  * An image filter that brighten or darken an existing image.
+ * <p/>
+ * The static create methods filter the pixels right away using {@link ImageFilterUtils} and can be used from any
+ * thread.
  */
 public class ColorFilter extends RGBImageFilter {
     private boolean _brighter;
-    private static int _percent = 30;
-    private static ColorFilter _colorFilter;
+    private int _percent;
+    private static volatile int _defaultPercent = 30;
 
+    /**
+     * Gets a ColorFilter. A new instance is returned each time so that it can be used from any thread.
+     *
+     * @param brighter true if the pixels should be brightened
+     * @param percent  the percentage of brightness or darkness
+     * @return the ColorFilter.
+     */
     public static ColorFilter getInstance(boolean brighter, int percent) {
-        if (_colorFilter == null) {
-            _colorFilter = new ColorFilter(brighter, percent);
-        }
-        else {
-            _colorFilter.setBrighter(brighter);
-            setPercent(percent);
-        }
-        return _colorFilter;
+        return new ColorFilter(brighter, percent);
     }
 
     public void setBrighter(boolean brighter) {
         _brighter = brighter;
     }
 
+    /**
+     * Sets the percentage used by {@link #createBrighterImage(java.awt.Image)} and {@link
+     * #createDarkerImage(java.awt.Image)}. Default is 30.
+     *
+     * @param percent the default percentage of brightness or darkness
+     */
     public static void setPercent(int percent) {
-        _percent = percent;
+        _defaultPercent = percent;
     }
 
     /**
@@ -45,9 +54,7 @@ public class ColorFilter extends RGBImageFilter {
      * @return a brighter image
      */
     public static Image createBrighterImage(Image i) {
-        ColorFilter filter = ColorFilter.getInstance(true, _percent);
-        ImageProducer prod = new FilteredImageSource(i.getSource(), filter);
-        return Toolkit.getDefaultToolkit().createImage(prod);
+        return createBrighterImage(i, _defaultPercent);
     }
 
     /**
@@ -59,8 +66,8 @@ public class ColorFilter extends RGBImageFilter {
      * @return a brighter image
      */
     public static Image createBrighterImage(Image i, int p) {
-        setPercent(p);
-        return createBrighterImage(i);
+        Image image = ImageFilterUtils.createBrighterImage(i, p);
+        return image != null ? image : createFilteredImage(i, new ColorFilter(true, p));
     }
 
 
@@ -72,9 +79,7 @@ public class ColorFilter extends RGBImageFilter {
      * @return a darker image.
      */
     public static Image createDarkerImage(Image i) {
-        ColorFilter filter = ColorFilter.getInstance(false, _percent);
-        ImageProducer prod = new FilteredImageSource(i.getSource(), filter);
-        return Toolkit.getDefaultToolkit().createImage(prod);
+        return createDarkerImage(i, _defaultPercent);
     }
 
 
@@ -87,15 +92,23 @@ public class ColorFilter extends RGBImageFilter {
      * @return a darker image.
      */
     public static Image createDarkerImage(Image i, int p) {
-        setPercent(p);
-        return createDarkerImage(i);
+        Image image = ImageFilterUtils.createDarkerImage(i, p);
+        return image != null ? image : createFilteredImage(i, new ColorFilter(false, p));
+    }
+
+    /**
+     * Creates the filtered image lazily using FilteredImageSource, used when the image could not be loaded to filter
+     * its pixels directly.
+     */
+    static Image createFilteredImage(Image i, RGBImageFilter filter) {
+        ImageProducer prod = new FilteredImageSource(i.getSource(), filter);
+        return Toolkit.getDefaultToolkit().createImage(prod);
     }
 
 
     /**
      * Constructs a ColorFilter object that filters a color image to a brighter or a darker image.
-     * Please note, you can also use {@link #getInstance(boolean,int)} to reuse the same instance of
-     * ColorFilter.
+     * Please note, each instance keeps its own percentage so different instances can be used in different threads.
      *
      * @param b a boolean -- true if the pixels should be brightened
      * @param p an int in the range 0..100 that determines the percentage of gray, where 100 is the
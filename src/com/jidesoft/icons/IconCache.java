@@ -0,0 +1,246 @@
+/*
+ * @(#)IconCache.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.icons;
+
+import javax.swing.*;
+import java.lang.ref.SoftReference;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <code>IconCache</code> keeps the icons loaded by {@link IconsFactory}. The icons are keyed by the class and the file
+ * name they are loaded from plus the variant, such as disabled or brighter, and its parameter, such as the percentage
+ * of brightness. The cache can be used from any thread so icons can be loaded in background threads.
+ * <p/>
+ * By default, the cache is unbounded and keeps the icons strongly. You can set a maximum size, in which case the icons
+ * cached first are removed first, and/or let the cache keep the icons through soft references so that they can be
+ * garbage collected when memory is low. The hit and miss counts are there for monitoring.
+ * <p/>
+ * You can get the cache used by IconsFactory from {@link IconsFactory#getIconCache()}.
+ */
+public class IconCache {
+    static final int VARIANT_IMAGE = 0;
+    static final int VARIANT_DISABLED = 1;
+    static final int VARIANT_BRIGHTER = 2;
+
+    private final ConcurrentMap<Key, Object> _icons = new ConcurrentHashMap<Key, Object>();
+    private final Queue<Key> _keys = new ConcurrentLinkedQueue<Key>();
+    private volatile int _maximumSize = 0;
+    private volatile boolean _softReferenced = false;
+    private final AtomicLong _hitCount = new AtomicLong();
+    private final AtomicLong _missCount = new AtomicLong();
+
+    IconCache() {
+    }
+
+    /**
+     * Gets the cached icon.
+     *
+     * @param clazz     the class to load the icon
+     * @param fileName  the relative file name
+     * @param variant   the variant of the icon
+     * @param parameter the parameter of the variant
+     * @return the cached icon. null if it is not cached.
+     */
+    ImageIcon get(Class<?> clazz, String fileName, int variant, int parameter) {
+        ImageIcon icon = getIcon(_icons.get(new Key(clazz, fileName, variant, parameter)));
+        if (icon != null) {
+            _hitCount.incrementAndGet();
+        }
+        else {
+            _missCount.incrementAndGet();
+        }
+        return icon;
+    }
+
+    /**
+     * Checks if the icon is cached. Unlike {@link #get(Class, String, int, int)}, it doesn't count as a hit or a miss.
+     *
+     * @param clazz     the class to load the icon
+     * @param fileName  the relative file name
+     * @param variant   the variant of the icon
+     * @param parameter the parameter of the variant
+     * @return true if the icon is cached.
+     */
+    boolean contains(Class<?> clazz, String fileName, int variant, int parameter) {
+        return getIcon(_icons.get(new Key(clazz, fileName, variant, parameter))) != null;
+    }
+
+    /**
+     * Caches the icon. If another thread cached the same icon in the meantime, that icon is kept and returned.
+     *
+     * @param clazz     the class to load the icon
+     * @param fileName  the relative file name
+     * @param variant   the variant of the icon
+     * @param parameter the parameter of the variant
+     * @param icon      the icon
+     * @return the cached icon.
+     */
+    ImageIcon put(Class<?> clazz, String fileName, int variant, int parameter, ImageIcon icon) {
+        if (icon == null) {
+            return null;
+        }
+        Key key = new Key(clazz, fileName, variant, parameter);
+        Object value = _softReferenced ? new SoftReference<ImageIcon>(icon) : icon;
+        while (true) {
+            Object old = _icons.putIfAbsent(key, value);
+            if (old == null) {
+                _keys.add(key);
+                trim();
+                return icon;
+            }
+            ImageIcon cached = getIcon(old);
+            if (cached != null) {
+                return cached;
+            }
+            // the soft reference was cleared
+            if (_icons.replace(key, old, value)) {
+                return icon;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static ImageIcon getIcon(Object value) {
+        if (value instanceof SoftReference) {
+            return ((SoftReference<ImageIcon>) value).get();
+        }
+        return (ImageIcon) value;
+    }
+
+    private void trim() {
+        int maximumSize = _maximumSize;
+        if (maximumSize > 0) {
+            while (_icons.size() > maximumSize) {
+                Key key = _keys.poll();
+                if (key == null) {
+                    break;
+                }
+                _icons.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum number of icons to be cached.
+     *
+     * @return the maximum number of icons. 0 if unbounded.
+     */
+    public int getMaximumSize() {
+        return _maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of icons to be cached. If more icons are cached, the icons cached first are removed.
+     *
+     * @param maximumSize the maximum number of icons. 0 if unbounded.
+     */
+    public void setMaximumSize(int maximumSize) {
+        _maximumSize = Math.max(0, maximumSize);
+        trim();
+    }
+
+    /**
+     * Checks if the icons are kept through soft references.
+     *
+     * @return true if the icons are kept through soft references. Otherwise false.
+     */
+    public boolean isSoftReferenced() {
+        return _softReferenced;
+    }
+
+    /**
+     * Sets the flag if the icons should be kept through soft references so that they could be garbage collected when
+     * memory is low. It only affects the icons cached afterwards. Default is false.
+     *
+     * @param softReferenced true to keep the icons through soft references.
+     */
+    public void setSoftReferenced(boolean softReferenced) {
+        _softReferenced = softReferenced;
+    }
+
+    /**
+     * Gets the number of cached icons.
+     *
+     * @return the number of cached icons.
+     */
+    public int size() {
+        return _icons.size();
+    }
+
+    /**
+     * Removes all cached icons. The hit and miss counts are not reset.
+     */
+    public void clear() {
+        _icons.clear();
+        _keys.clear();
+    }
+
+    /**
+     * Gets how many times a requested icon was found in the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return _hitCount.get();
+    }
+
+    /**
+     * Gets how many times a requested icon was not found in the cache and had to be loaded.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return _missCount.get();
+    }
+
+    /**
+     * Resets the hit and miss counts.
+     */
+    public void resetStatistics() {
+        _hitCount.set(0);
+        _missCount.set(0);
+    }
+
+    private static final class Key {
+        private final Class<?> _clazz;
+        private final String _fileName;
+        private final int _variant;
+        private final int _parameter;
+
+        Key(Class<?> clazz, String fileName, int variant, int parameter) {
+            _clazz = clazz;
+            _fileName = fileName;
+            _variant = variant;
+            _parameter = parameter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return _variant == key._variant && _parameter == key._parameter && _clazz == key._clazz
+                    && (_fileName == null ? key._fileName == null : _fileName.equals(key._fileName));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = _clazz.hashCode();
+            result = 31 * result + (_fileName != null ? _fileName.hashCode() : 0);
+            result = 31 * result + _variant;
+            result = 31 * result + _parameter;
+            return result;
+        }
+    }
+}
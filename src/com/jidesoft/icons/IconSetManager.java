@@ -2,8 +2,11 @@ package com.jidesoft.icons;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * <code>IconSetManager</code> contains all the icon sets that you purchased in one class so that you can access all of them from one single place and switch to different icon set just by calling {@link #setActiveIconSetName(String)}.
@@ -91,6 +94,25 @@ public class IconSetManager {
         _activeIconSetName = activeIconSetName;
     }
 
+    /**
+     * Loads all the icons defined in IconSet of the active icon set in the background so that {@link
+     * #getImageIcon(String, int)} will find them in the cache later.
+     *
+     * @param size the icon size. If the size is not available, it will load the closest size that is larger than the
+     *             requested size.
+     * @return a Future that completes when all icons are loaded. Its value is the number of icons loaded.
+     * @see IconsFactory#preloadImageIcons(Class, java.util.Collection)
+     */
+    public Future<Integer> preloadImageIcons(int size) {
+        String packageName = _activeIconSet.getPackageName();
+        int actualSize = _activeIconSet.getNextAvailableSize(size);
+        List<String> fileNames = new ArrayList<String>();
+        for (String iconName : IconsFactory.getImageFileNames(IconSet.class)) {
+            fileNames.add(packageName + "/png/" + actualSize + "x" + actualSize + "/" + iconName);
+        }
+        return IconsFactory.preloadImageIcons(IconSetManager.class, fileNames);
+    }
+
     /**
      * Gets the ImageIcon.
      *
@@ -14,9 +14,12 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.*;
 
 /**
  * <code>IconsFactory</code> provides a consistent way to access icon resource in any application.
@@ -109,12 +112,25 @@ import java.util.StringTokenizer;
  * By default, all image files are loaded using ImageIO. However if you set system property "jide.useImageIO" to
  * "false", we will disable the usage of ImageIO and use Toolkit.getDefaultToolkit().createImage method to create the
  * image file.
+ * <p/>
+ * All icons returned by getImageIcon, findImageIcon, getDisabledImageIcon and getBrighterImageIcon are cached in an
+ * {@link IconCache}. You can get it using {@link #getIconCache()} to bound its size or to check its statistics. The
+ * cache is thread safe so the icons can be loaded in background threads.
+ * <p/>
+ * To avoid decoding the image files on the event dispatch thread when the first menus and toolbars are shown, you can
+ * call {@link #preloadImageIcons(Class)} at startup. For example, <code>IconsFactory.preloadImageIcons(TemplateIconsFactory.class)</code>
+ * loads all the image files defined in TemplateIconsFactory above on a thread pool.
  */
 public class IconsFactory {
 
-    static Map<String, ImageIcon> icons = new HashMap<String, ImageIcon>();
-    static Map<String, ImageIcon> disableIcons = new HashMap<String, ImageIcon>();
-    static Map<String, ImageIcon> enhancedIcons = new HashMap<String, ImageIcon>();
+    private static final IconCache ICON_CACHE = new IconCache();
+
+    /**
+     * The parameter of the brighter icons created with the default percentage of brightness.
+     */
+    private static final int DEFAULT_PERCENT = -1;
+
+    private static Executor _preloadExecutor;
 
     public static ImageIcon EMPTY_ICON = new ImageIcon() {
         private static final long serialVersionUID = 5081581607741629368L;
@@ -148,14 +164,11 @@ public class IconsFactory {
      * @return the ImageIcon
      */
     public static ImageIcon getImageIcon(Class<?> clazz, String fileName) {
-        String id = clazz.getName() + ":" + fileName;
-        Icon saved = icons.get(id);
+        ImageIcon saved = ICON_CACHE.get(clazz, fileName, IconCache.VARIANT_IMAGE, 0);
         if (saved != null)
-            return (ImageIcon) saved;
+            return saved;
         else {
-            ImageIcon icon = createImageIcon(clazz, fileName);
-            icons.put(id, icon);
-            return icon;
+            return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_IMAGE, 0, createImageIcon(clazz, fileName));
         }
     }
 
@@ -169,14 +182,11 @@ public class IconsFactory {
      * @throws IOException when image file is not found.
      */
     public static ImageIcon findImageIcon(Class<?> clazz, String fileName) throws IOException {
-        String id = clazz.getName() + ":" + fileName;
-        ImageIcon saved = icons.get(id);
+        ImageIcon saved = ICON_CACHE.get(clazz, fileName, IconCache.VARIANT_IMAGE, 0);
         if (saved != null)
             return saved;
         else {
-            ImageIcon icon = createImageIconWithException(clazz, fileName);
-            icons.put(id, icon);
-            return icon;
+            return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_IMAGE, 0, createImageIconWithException(clazz, fileName));
         }
     }
 
@@ -188,14 +198,11 @@ public class IconsFactory {
      * @return the ImageIcon
      */
     public static ImageIcon getDisabledImageIcon(Class<?> clazz, String fileName) {
-        String id = clazz.getName() + ":" + fileName;
-        ImageIcon saved = disableIcons.get(id);
+        ImageIcon saved = ICON_CACHE.get(clazz, fileName, IconCache.VARIANT_DISABLED, 0);
         if (saved != null)
             return saved;
         else {
-            ImageIcon icon = createGrayImage(getImageIcon(clazz, fileName));
-            disableIcons.put(id, icon);
-            return icon;
+            return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_DISABLED, 0, createGrayImage(getImageIcon(clazz, fileName)));
         }
     }
 
@@ -207,14 +214,11 @@ public class IconsFactory {
      * @return the ImageIcon
      */
     public static ImageIcon getBrighterImageIcon(Class<?> clazz, String fileName) {
-        String id = clazz.getName() + ":" + fileName;
-        ImageIcon saved = enhancedIcons.get(id);
+        ImageIcon saved = ICON_CACHE.get(clazz, fileName, IconCache.VARIANT_BRIGHTER, DEFAULT_PERCENT);
         if (saved != null)
             return saved;
         else {
-            ImageIcon icon = createBrighterImage(getImageIcon(clazz, fileName));
-            enhancedIcons.put(id, icon);
-            return icon;
+            return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_BRIGHTER, DEFAULT_PERCENT, createBrighterImage(getImageIcon(clazz, fileName)));
         }
     }
 
@@ -227,15 +231,207 @@ public class IconsFactory {
      * @return the ImageIcon
      */
     public static ImageIcon getBrighterImageIcon(Class<?> clazz, String fileName, int percent) {
-        String id = clazz.getName() + ":" + fileName;
-        ImageIcon saved = enhancedIcons.get(id);
+        ImageIcon saved = ICON_CACHE.get(clazz, fileName, IconCache.VARIANT_BRIGHTER, percent);
         if (saved != null)
             return saved;
         else {
-            ImageIcon icon = createBrighterImage(getImageIcon(clazz, fileName), percent);
-            enhancedIcons.put(id, icon);
+            return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_BRIGHTER, percent, createBrighterImage(getImageIcon(clazz, fileName), percent));
+        }
+    }
+
+    /**
+     * Gets the cache of the icons returned by getImageIcon, findImageIcon, getDisabledImageIcon and
+     * getBrighterImageIcon.
+     *
+     * @return the icon cache.
+     */
+    public static IconCache getIconCache() {
+        return ICON_CACHE;
+    }
+
+    /**
+     * Loads all the image files defined in an icons factory class in the background so that {@link #getImageIcon(Class,
+     * String)} will find them in the cache later. The image files are the values of all public static String fields of
+     * the class and its nested classes, such as the ones in {@link JideIconsFactory}. They are loaded relative to the
+     * class, just like the <code>getImageIcon(String)</code> method of the icons factory would do.
+     *
+     * @param clazz the icons factory class
+     * @return a Future that completes when all image files are loaded. Its value is the number of icons loaded.
+     */
+    public static Future<Integer> preloadImageIcons(Class<?> clazz) {
+        return preloadImageIcons(clazz, getImageFileNames(clazz));
+    }
+
+    /**
+     * Loads the image files in the background so that {@link #getImageIcon(Class, String)} will find them in the cache
+     * later. Each image file is decoded into a BufferedImage compatible with the default screen so that it can be
+     * painted quickly. The image files that are already cached are skipped.
+     *
+     * @param clazz     the Class<?> to load the image files
+     * @param fileNames the relative file names
+     * @return a Future that completes when all image files are loaded. Its value is the number of icons loaded.
+     */
+    public static Future<Integer> preloadImageIcons(final Class<?> clazz, Collection<String> fileNames) {
+        Executor executor = getPreloadExecutor();
+        List<FutureTask<ImageIcon>> tasks = new ArrayList<FutureTask<ImageIcon>>();
+        for (final String fileName : fileNames) {
+            if (ICON_CACHE.contains(clazz, fileName, IconCache.VARIANT_IMAGE, 0)) {
+                continue;
+            }
+            FutureTask<ImageIcon> task = new FutureTask<ImageIcon>(new Callable<ImageIcon>() {
+                public ImageIcon call() throws Exception {
+                    if (ICON_CACHE.contains(clazz, fileName, IconCache.VARIANT_IMAGE, 0)) {
+                        return null;
+                    }
+                    ImageIcon icon;
+                    try {
+                        icon = createCompatibleImageIcon(createImageIconWithException(clazz, fileName));
+                    }
+                    catch (IOException e) {
+                        System.err.println(e.getLocalizedMessage());
+                        return null;
+                    }
+                    return ICON_CACHE.put(clazz, fileName, IconCache.VARIANT_IMAGE, 0, icon);
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        return new PreloadFuture(tasks);
+    }
+
+    /**
+     * Gets the executor that loads the image files in {@link #preloadImageIcons(Class, Collection)}.
+     *
+     * @return the executor.
+     */
+    public static synchronized Executor getPreloadExecutor() {
+        if (_preloadExecutor == null) {
+            _preloadExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "IconsFactory");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return _preloadExecutor;
+    }
+
+    /**
+     * Sets the executor that loads the image files in {@link #preloadImageIcons(Class, Collection)}. By default, it is
+     * a pool of daemon threads, one for each available processor.
+     *
+     * @param preloadExecutor the executor. Null to use the default executor.
+     */
+    public static synchronized void setPreloadExecutor(Executor preloadExecutor) {
+        _preloadExecutor = preloadExecutor;
+    }
+
+    /**
+     * Gets the values of all public static String fields of the class and its nested classes.
+     *
+     * @param clazz the icons factory class
+     * @return the image file names.
+     */
+    static List<String> getImageFileNames(Class<?> clazz) {
+        List<String> fileNames = new ArrayList<String>();
+        addImageFileNames(clazz, fileNames);
+        return fileNames;
+    }
+
+    private static void addImageFileNames(Class<?> clazz, List<String> fileNames) {
+        for (Field field : clazz.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    Object value = field.get(null);
+                    if (value != null && !fileNames.contains(value)) {
+                        fileNames.add((String) value);
+                    }
+                }
+                catch (IllegalAccessException e) {
+                    // skip it
+                }
+            }
+        }
+        for (Class<?> nested : clazz.getClasses()) {
+            addImageFileNames(nested, fileNames);
+        }
+    }
+
+    private static ImageIcon createCompatibleImageIcon(ImageIcon icon) {
+        int width = icon.getIconWidth();
+        int height = icon.getIconHeight();
+        if (width <= 0 || height <= 0) {
             return icon;
         }
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        else {
+            image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g2d = image.createGraphics();
+        g2d.drawImage(icon.getImage(), 0, 0, null);
+        g2d.dispose();
+        return new ImageIcon(image);
+    }
+
+    private static class PreloadFuture implements Future<Integer> {
+        private final List<FutureTask<ImageIcon>> _tasks;
+
+        PreloadFuture(List<FutureTask<ImageIcon>> tasks) {
+            _tasks = tasks;
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = false;
+            for (FutureTask<ImageIcon> task : _tasks) {
+                cancelled |= task.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+
+        public boolean isCancelled() {
+            for (FutureTask<ImageIcon> task : _tasks) {
+                if (task.isCancelled()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean isDone() {
+            for (FutureTask<ImageIcon> task : _tasks) {
+                if (!task.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Integer get() throws InterruptedException, ExecutionException {
+            int count = 0;
+            for (FutureTask<ImageIcon> task : _tasks) {
+                if (task.get() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public Integer get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            int count = 0;
+            for (FutureTask<ImageIcon> task : _tasks) {
+                if (task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS) != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
     }
 
 
@@ -249,7 +445,7 @@ public class IconsFactory {
     public static ImageIcon createGrayImage(Image image) {
         if (image == null)
             return EMPTY_ICON;
-        return new ImageIcon(GrayFilter.createDisabledImage(image));
+        return new ImageIcon(createDisabledImage(image));
     }
 
     /**
@@ -262,7 +458,12 @@ public class IconsFactory {
     private static ImageIcon createGrayImage(ImageIcon icon) {
         if (icon == null)
             return EMPTY_ICON;
-        return new ImageIcon(GrayFilter.createDisabledImage(icon.getImage()));
+        return new ImageIcon(createDisabledImage(icon.getImage()));
+    }
+
+    private static Image createDisabledImage(Image image) {
+        Image grayImage = ImageFilterUtils.createGrayImage(image);
+        return grayImage != null ? grayImage : GrayFilter.createDisabledImage(image);
     }
 
     /**
@@ -283,7 +484,7 @@ public class IconsFactory {
 
         BufferedImage image = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
         icon.paintIcon(c, image.getGraphics(), 0, 0);
-        return new ImageIcon(GrayFilter.createDisabledImage(image));
+        return new ImageIcon(createDisabledImage(image));
     }
 
     /**
@@ -0,0 +1,209 @@
+/*
+ * @(#)ImageFilterUtils.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.icons;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.RGBImageFilter;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * <code>ImageFilterUtils</code> applies an <code>RGBImageFilter</code> such as {@link ColorFilter}, {@link MaskFilter}
+ * or <code>GrayFilter</code> directly to the pixels of an image. Unlike <code>FilteredImageSource</code>, the filtered
+ * image is created right away in one pass over the pixels instead of being produced lazily when it is painted. Each
+ * call uses its own filter instance so all methods can be used from any thread.
+ * <p/>
+ * Large images, such as an icon sheet, are filtered in several bands of rows in parallel.
+ */
+public class ImageFilterUtils {
+    /**
+     * The number of pixels an image must have to be filtered in parallel by {@link #filter(Image, RGBImageFilter)}.
+     */
+    private static final int PARALLEL_THRESHOLD = 256 * 256;
+
+    /**
+     * The minimum number of pixels in each band when an image is filtered in parallel.
+     */
+    private static final int MINIMUM_BAND_SIZE = 128 * 128;
+
+    /**
+     * Creates a brighter image.
+     *
+     * @param image   the original image
+     * @param percent percentage of brightness
+     * @return a brighter image. Null if the image could not be loaded.
+     */
+    public static BufferedImage createBrighterImage(Image image, int percent) {
+        return filter(image, new ColorFilter(true, percent));
+    }
+
+    /**
+     * Creates a darker image.
+     *
+     * @param image   the original image
+     * @param percent percentage of darkness
+     * @return a darker image. Null if the image could not be loaded.
+     */
+    public static BufferedImage createDarkerImage(Image image, int percent) {
+        return filter(image, new ColorFilter(false, percent));
+    }
+
+    /**
+     * Creates a gray image, the same as <code>GrayFilter.createDisabledImage</code> does.
+     *
+     * @param image the original image
+     * @return a gray image. Null if the image could not be loaded.
+     */
+    public static BufferedImage createGrayImage(Image image) {
+        return filter(image, new GrayFilter(true, 50));
+    }
+
+    /**
+     * Creates an image by replacing the old color with the new color.
+     *
+     * @param image    the original image
+     * @param oldColor the old color to be replaced
+     * @param newColor the new color to replace the old color
+     * @return the new image. Null if the image could not be loaded.
+     */
+    public static BufferedImage createMaskImage(Image image, Color oldColor, Color newColor) {
+        return filter(image, new MaskFilter(oldColor, newColor));
+    }
+
+    /**
+     * Creates a negative image by replacing the black color with the white color.
+     *
+     * @param image the original image
+     * @return the negative image. Null if the image could not be loaded.
+     */
+    public static BufferedImage createNegativeImage(Image image) {
+        return createMaskImage(image, Color.black, Color.white);
+    }
+
+    /**
+     * Filters an image. Large images are filtered in parallel using {@link IconsFactory#getPreloadExecutor()}.
+     *
+     * @param image  the original image. It is not changed.
+     * @param filter the filter. Its <code>filterRGB</code> method must be thread safe.
+     * @return the filtered image. Null if the image could not be loaded.
+     */
+    public static BufferedImage filter(Image image, RGBImageFilter filter) {
+        BufferedImage result = toIntArgbImage(image);
+        if (result != null) {
+            Executor executor = result.getWidth() * result.getHeight() >= PARALLEL_THRESHOLD ? IconsFactory.getPreloadExecutor() : null;
+            filterBands(result, filter, executor);
+        }
+        return result;
+    }
+
+    /**
+     * Filters an image, splitting it into bands of rows that are filtered on the executor. The current thread filters
+     * the bands that the executor hasn't started yet, so it is safe to call this method from a task of the same
+     * executor.
+     *
+     * @param image    the original image. It is not changed.
+     * @param filter   the filter. Its <code>filterRGB</code> method must be thread safe.
+     * @param executor the executor. Null to filter the whole image on the current thread.
+     * @return the filtered image. Null if the image could not be loaded.
+     */
+    public static BufferedImage filter(Image image, RGBImageFilter filter, Executor executor) {
+        BufferedImage result = toIntArgbImage(image);
+        if (result != null) {
+            filterBands(result, filter, executor);
+        }
+        return result;
+    }
+
+    private static void filterBands(final BufferedImage image, final RGBImageFilter filter, Executor executor) {
+        final int width = image.getWidth();
+        int height = image.getHeight();
+        int bands = executor == null ? 1 : Math.min(Runtime.getRuntime().availableProcessors(), Math.max(1, width * height / MINIMUM_BAND_SIZE));
+        if (bands <= 1) {
+            filterRows(image, filter, 0, height);
+            return;
+        }
+
+        int rows = (height + bands - 1) / bands;
+        List<FutureTask<Object>> tasks = new ArrayList<FutureTask<Object>>();
+        for (int y = 0; y < height; y += rows) {
+            final int startY = y;
+            final int endY = Math.min(height, y + rows);
+            tasks.add(new FutureTask<Object>(new Runnable() {
+                public void run() {
+                    filterRows(image, filter, startY, endY);
+                }
+            }, null));
+        }
+        for (int i = 1; i < tasks.size(); i++) {
+            executor.execute(tasks.get(i));
+        }
+        // a task that has already run or is running does nothing here
+        for (FutureTask<Object> task : tasks) {
+            task.run();
+        }
+        try {
+            for (FutureTask<Object> task : tasks) {
+                task.get();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void filterRows(BufferedImage image, RGBImageFilter filter, int startY, int endY) {
+        int width = image.getWidth();
+        WritableRaster raster = image.getRaster();
+        int[] pixels = new int[width];
+        for (int y = startY; y < endY; y++) {
+            raster.getDataElements(0, y, width, 1, pixels);
+            for (int x = 0; x < width; x++) {
+                pixels[x] = filter.filterRGB(x, y, pixels[x]);
+            }
+            raster.setDataElements(0, y, width, 1, pixels);
+        }
+    }
+
+    /**
+     * Copies the image into a new TYPE_INT_ARGB BufferedImage, waiting for it to be loaded if necessary.
+     *
+     * @param image the image
+     * @return the copy. Null if the image could not be loaded.
+     */
+    private static BufferedImage toIntArgbImage(Image image) {
+        if (image == null) {
+            return null;
+        }
+        if (!(image instanceof BufferedImage)) {
+            // ImageIcon waits for the image to be loaded
+            image = new ImageIcon(image).getImage();
+        }
+        int width = image.getWidth(null);
+        int height = image.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = result.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return result;
+    }
+}
@@ -12,40 +12,33 @@ import java.awt.image.RGBImageFilter;
 
 /**
  * An image filter that will replace one color in an image with another color.
+ * <p/>
+ * The static create methods filter the pixels right away using {@link ImageFilterUtils} and can be used from any
+ * thread.
  */
 public class MaskFilter extends RGBImageFilter {
-    private Color _newColor;
-    private Color _oldColor;
-
-    private static MaskFilter _maskFilter = null;
+    private final Color _newColor;
+    private final Color _oldColor;
+    private final int _newRGB;
+    private final int _oldRGB;
 
+    /**
+     * Gets a MaskFilter. A new instance is returned each time so that it can be used from any thread.
+     *
+     * @param oldColor old color in exist image that needs to be replaced by new color
+     * @param newColor new color to replace the old color
+     * @return the MaskFilter.
+     */
     public static MaskFilter getInstance(Color oldColor, Color newColor) {
-        if (_maskFilter == null) {
-            _maskFilter = new MaskFilter(oldColor, newColor);
-        }
-        else {
-            _maskFilter.setOldColor(oldColor);
-            _maskFilter.setNewColor(newColor);
-        }
-        return _maskFilter;
-    }
-
-    private void setNewColor(Color newColor) {
-        _newColor = newColor;
-    }
-
-    private void setOldColor(Color oldColor) {
-        _oldColor = oldColor;
+        return new MaskFilter(oldColor, newColor);
     }
 
     /**
      * Creates an image from an existing one by replacing the old color with the new color.
      */
     public static Image createImage(Image i, Color oldColor, Color newColor) {
-        MaskFilter filter = MaskFilter.getInstance(oldColor, newColor);
-        ImageProducer prod = new FilteredImageSource(i.getSource(), filter);
-        Image image = Toolkit.getDefaultToolkit().createImage(prod);
-        return image;
+        Image image = ImageFilterUtils.createMaskImage(i, oldColor, newColor);
+        return image != null ? image : ColorFilter.createFilteredImage(i, new MaskFilter(oldColor, newColor));
     }
 
     /**
@@ -57,9 +50,8 @@ public class MaskFilter extends RGBImageFilter {
     }
 
     /**
-     * Constructs a MaskFilter object that filters color of image to another color Please note, you
-     * can also use {@link #getInstance(java.awt.Color,java.awt.Color)} to reuse the same instance
-     * of MaskFilter.
+     * Constructs a MaskFilter object that filters color of image to another color. The filter is immutable so it can
+     * be used from any thread.
      *
      * @param oldColor old color in exist image that needs to be replaced by new color
      * @param newColor new color to replace the old color
@@ -67,6 +59,8 @@ public class MaskFilter extends RGBImageFilter {
     public MaskFilter(Color oldColor, Color newColor) {
         _newColor = newColor;
         _oldColor = oldColor;
+        _newRGB = newColor != null ? newColor.getRGB() : 0;
+        _oldRGB = oldColor != null ? oldColor.getRGB() : 0;
         canFilterIndexColorModel = true;
     }
 
@@ -76,8 +70,8 @@ public class MaskFilter extends RGBImageFilter {
     @Override
     public int filterRGB(int x, int y, int rgb) {
         if (_newColor != null && _oldColor != null) {
-            if (rgb == _oldColor.getRGB()) {
-                return _newColor.getRGB();
+            if (rgb == _oldRGB) {
+                return _newRGB;
             }
         }
         return rgb;
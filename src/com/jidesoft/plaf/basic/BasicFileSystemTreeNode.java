@@ -6,21 +6,38 @@
 package com.jidesoft.plaf.basic;
 
 import com.jidesoft.swing.FolderChooser;
+import com.jidesoft.utils.DirectoryListingCache;
 
 import javax.swing.*;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable {
     private FolderChooser _folderChooser;
     private File _file;
 
-    static HashMap _icons = new HashMap();
+    // the icon and node caches drop the least recently used entries once they reach this size
+    static final int MAXIMUM_CACHE_SIZE = 1024;
 
-    static HashMap _nodes = new HashMap();
+    static Map<BasicFileSystemTreeNode, Icon> _icons = createCache();
+
+    static Map<File, BasicFileSystemTreeNode> _nodes = createCache();
+
+    private static <K, V> Map<K, V> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 3530441462318562470L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > MAXIMUM_CACHE_SIZE;
+            }
+        });
+    }
 
     protected BasicFileSystemTreeNode(File file) {
         this(file, null);
@@ -44,10 +61,12 @@ class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable
     public boolean hasChildren() {
         if (!_loaded) {
             if (BasicFolderChooserUI.isFileSystem(_file) && _file.isDirectory()) {
-                File[] files = _folderChooser.getFileSystemView().getFiles(_file, _folderChooser.isFileHidingEnabled());
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        return true;
+                DirectoryListingCache.Entry[] entries = listChildren();
+                if (entries != null) {
+                    for (DirectoryListingCache.Entry entry : entries) {
+                        if (entry.isDirectory()) {
+                            return true;
+                        }
                     }
                 }
                 _loaded = true; // no children so it is loaded
@@ -59,26 +78,38 @@ class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable
         }
     }
 
+    /**
+     * Lists the children through the FileSystemView of the folder chooser. hasChildren and initChildren share the
+     * listing so that they always agree.
+     *
+     * @return the children. Null if the directory can't be listed.
+     */
+    private DirectoryListingCache.Entry[] listChildren() {
+        try {
+            return DirectoryListingCache.getSharedInstance().list(_file, _folderChooser.getFileSystemView(), _folderChooser.isFileHidingEnabled());
+        }
+        catch (Error e) {
+            // catch error like java.lang.InternalError: Unable to bind C:\blah blah\::{20D04FE0-3AEA-1069-A2D8-08002B30309D}\::{3D6BE802-FC0D-4595-A304-E611F97089DC} to parent
+        }
+        catch (Exception e) {
+        }
+        return null;
+    }
+
     @Override
     protected void initChildren() {
         if (_folderChooser == null) {
             return;
         }
         if (_file.isDirectory()) {
-            File[] files = new File[0];
-            try {
-                files = _folderChooser.getFileSystemView().getFiles(_file, _folderChooser.isFileHidingEnabled());
-            }
-            catch (Error e) {
-                // catch error like java.lang.InternalError: Unable to bind C:\blah blah\::{20D04FE0-3AEA-1069-A2D8-08002B30309D}\::{3D6BE802-FC0D-4595-A304-E611F97089DC} to parent
-            }
-            catch (Exception e) {
-            }
+            DirectoryListingCache.Entry[] entries = listChildren();
             List children = new ArrayList();
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    BasicFileSystemTreeNode fileTreeNode = BasicFileSystemTreeNode.createFileSystemTreeNode(file, _folderChooser);
-                    children.add(fileTreeNode);
+            if (entries != null) {
+                for (DirectoryListingCache.Entry entry : entries) {
+                    if (entry.isDirectory()) {
+                        BasicFileSystemTreeNode fileTreeNode = BasicFileSystemTreeNode.createFileSystemTreeNode(entry.getFile(), _folderChooser);
+                        children.add(fileTreeNode);
+                    }
                 }
             }
             BasicFileSystemTreeNode[] results = (BasicFileSystemTreeNode[]) children.toArray(new BasicFileSystemTreeNode[children.size()]);
@@ -98,7 +129,7 @@ class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable
     }
 
     public Icon getIcon() {
-        Icon icon = (Icon) _icons.get(this);
+        Icon icon = _icons.get(this);
         if (icon == null) {
             icon = getIcon(getFile());
             _icons.put(this, icon);
@@ -161,14 +192,14 @@ class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable
     }
 
     /**
-     * Caches the tree nodes ever created for the performance.
+     * Caches the tree nodes created for the performance. Only the most recently used nodes are kept.
      *
      * @param file
      * @param folderChooser
      * @return tree node. If it is created before, returns the previous created instance.
      */
     public static BasicFileSystemTreeNode createFileSystemTreeNode(File file, FolderChooser folderChooser) {
-        BasicFileSystemTreeNode node = (BasicFileSystemTreeNode) _nodes.get(file);
+        BasicFileSystemTreeNode node = _nodes.get(file);
         if (node == null) {
             node = new BasicFileSystemTreeNode(file, folderChooser);
             _nodes.put(file, node);
@@ -177,9 +208,10 @@ class BasicFileSystemTreeNode extends LazyMutableTreeNode implements Comparable
     }
 
     /**
-     * Clears the cache of all the tree nodes.
+     * Clears the cache of all the tree nodes and their icons.
      */
     public static void clearCache() {
         _nodes.clear();
+        _icons.clear();
     }
 }
@@ -20,8 +20,11 @@ import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BasicStyledLabelUI extends BasicLabelUI implements SwingConstants {
     public static Comparator<StyleRange> _comparator;
@@ -49,6 +52,136 @@ public class BasicStyledLabelUI extends BasicLabelUI implements SwingConstants {
 
     private final List<StyledText> _styledTexts = new ArrayList<StyledText>();
 
+    // the layout cache drops the least recently used layout once it reaches this size
+    private static final int MAXIMUM_LAYOUT_CACHE_SIZE = 256;
+
+    private final Map<StyledTextLayoutKey, StyledTextLayout> _layouts = Collections.synchronizedMap(new LinkedHashMap<StyledTextLayoutKey, StyledTextLayout>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2310563519614447413L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<StyledTextLayoutKey, StyledTextLayout> eldest) {
+            return size() > MAXIMUM_LAYOUT_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * The key of a cached layout. The style ranges are compared by their values because cell renderers set new style
+     * ranges for every cell without firing the property change events. The font metrics stand for the font and the
+     * font render context of the label.
+     */
+    private static class StyledTextLayoutKey {
+        final String text;
+        final FontMetrics fontMetrics;
+        final StyleRange[] styleRanges;
+        final int hashCode;
+
+        StyledTextLayoutKey(String text, FontMetrics fontMetrics, StyleRange[] styleRanges) {
+            this.text = text;
+            this.fontMetrics = fontMetrics;
+            this.styleRanges = styleRanges;
+            int hash = text != null ? text.hashCode() : 0;
+            hash = 31 * hash + fontMetrics.hashCode();
+            for (StyleRange styleRange : styleRanges) {
+                hash = 31 * hash + styleRange.getStart();
+                hash = 31 * hash + styleRange.getLength();
+                hash = 31 * hash + styleRange.getFontStyle();
+                hash = 31 * hash + styleRange.getAdditionalStyle();
+            }
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StyledTextLayoutKey)) {
+                return false;
+            }
+            StyledTextLayoutKey key = (StyledTextLayoutKey) o;
+            if (hashCode != key.hashCode || !(text == null ? key.text == null : text.equals(key.text))
+                    || !fontMetrics.equals(key.fontMetrics) || styleRanges.length != key.styleRanges.length) {
+                return false;
+            }
+            for (int i = 0; i < styleRanges.length; i++) {
+                if (!isSameStyleRange(styleRanges[i], key.styleRanges[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        private static boolean isSameStyleRange(StyleRange r1, StyleRange r2) {
+            return r1 == r2 || (r1.getStart() == r2.getStart() && r1.getLength() == r2.getLength()
+                    && r1.getFontStyle() == r2.getFontStyle() && r1.getAdditionalStyle() == r2.getAdditionalStyle()
+                    && r1.getFontShrinkRatio() == r2.getFontShrinkRatio()
+                    && JideSwingUtilities.equals(r1.getFontColor(), r2.getFontColor())
+                    && JideSwingUtilities.equals(r1.getBackgroundColor(), r2.getBackgroundColor())
+                    && JideSwingUtilities.equals(r1.getLineColor(), r2.getLineColor())
+                    && JideSwingUtilities.equals(r1.getLineStroke(), r2.getLineStroke()));
+        }
+    }
+
+    /**
+     * The styled texts of a label together with their fonts and widths. It is kept in a cache shared by all labels
+     * using this UI, so a renderer painting many cells reuses the layouts of the cells painted before.
+     */
+    private static class StyledTextLayout {
+        final StyledText[] styledTexts;
+        final Font[] fonts;
+        final FontMetrics[] fontMetrics;
+        final int[] widths;
+        final FontMetrics defaultFontMetrics;
+        final int width;
+        final int height;
+
+        StyledTextLayout(StyledLabel label, Font font, FontMetrics defaultFontMetrics, StyledText[] styledTexts) {
+            this.styledTexts = styledTexts;
+            this.defaultFontMetrics = defaultFontMetrics;
+            fonts = new Font[styledTexts.length];
+            fontMetrics = new FontMetrics[styledTexts.length];
+            widths = new int[styledTexts.length];
+
+            int defaultFontSize = font.getSize();
+            int totalWidth = 0;
+            int lineHeight = 0;
+            for (int i = 0; i < styledTexts.length; i++) {
+                StyleRange style = styledTexts[i].styleRange;
+                int size = (style != null &&
+                        (style.isSuperscript() || style.isSubscript())) ? Math.round((float) defaultFontSize / style.getFontShrinkRatio()) : defaultFontSize;
+                if (style != null && ((style.getFontStyle() != -1 && font.getStyle() != style.getFontStyle()) || font.getSize() != size)) {
+                    fonts[i] = FontUtils.getCachedDerivedFont(font, style.getFontStyle() == -1 ? font.getStyle() : style.getFontStyle(), size);
+                    fontMetrics[i] = label.getFontMetrics(fonts[i]);
+                }
+                else {
+                    fonts[i] = font;
+                    fontMetrics[i] = defaultFontMetrics;
+                }
+                widths[i] = fontMetrics[i].stringWidth(styledTexts[i].text);
+                totalWidth += widths[i];
+
+                if (style != null) {
+                    if (style.isUnderlined() && lineHeight < 2) {
+                        lineHeight = 2;
+                    }
+                    if (style.isDotted() && lineHeight < 3) {
+                        lineHeight = 3;
+                    }
+                    if (style.isWaved() && lineHeight < 4) {
+                        lineHeight = 4;
+                    }
+                }
+            }
+            width = totalWidth;
+            height = defaultFontMetrics.getHeight() + lineHeight;
+        }
+    }
+
     @Override
     public void propertyChange(PropertyChangeEvent e) {
         super.propertyChange(e);
@@ -162,49 +295,36 @@ public class BasicStyledLabelUI extends BasicLabelUI implements SwingConstants {
                 label.getIconTextGap());
     }
 
-    protected Dimension getPreferredSize(StyledLabel label) {
-        buildStyledText(label);
-
-        int width = 0;
+    /**
+     * Gets the layout of the styled texts of the label. The layouts are cached by the text, the style ranges and the
+     * font, so {@link #buildStyledText(StyledLabel)} and the font metrics are only used for a combination which was not
+     * laid out recently by any label using this UI.
+     *
+     * @param label the label.
+     * @return the layout.
+     */
+    private StyledTextLayout getStyledTextLayout(StyledLabel label) {
         Font font = getFont(label);
-        FontMetrics fm = label.getFontMetrics(font);
-        FontMetrics fm2;
-        int lineHeight = 0;
-        int defaultFontSize = font.getSize();
-        synchronized (_styledTexts) {
-            StyledText[] texts = _styledTexts.toArray(new StyledText[_styledTexts.size()]);
-            for (int i = texts.length - 1; i >= 0; i--) {
-                StyledText styledText = texts[i];
-                StyleRange style = styledText.styleRange;
-                int size = (style != null &&
-                        (style.isSuperscript() || style.isSubscript())) ? Math.round((float) defaultFontSize / style.getFontShrinkRatio()) : defaultFontSize;
-                font = getFont(label);
-                if (style != null && ((style.getFontStyle() != -1 && font.getStyle() != style.getFontStyle()) || font.getSize() != size)) {
-                    font = FontUtils.getCachedDerivedFont(font, style.getFontStyle() == -1 ? font.getStyle() : style.getFontStyle(), size);
-                    fm2 = label.getFontMetrics(font);
-                    width += fm2.stringWidth(styledText.text);
-                }
-                else {
-//                    fm2 = fm;
-                    width += fm.stringWidth(styledText.text);
-                }
+        FontMetrics fontMetrics = label.getFontMetrics(font);
+        StyledTextLayoutKey key = new StyledTextLayoutKey(label.getText(), fontMetrics, label.getStyleRanges());
+        StyledTextLayout layout = _layouts.get(key);
+        if (layout != null) {
+            return layout;
+        }
 
-                if (style != null) {
-                    if (style.isUnderlined() && lineHeight < 2) {
-                        lineHeight = 2;
-                    }
-                    if (style.isDotted() && lineHeight < 3) {
-                        lineHeight = 3;
-                    }
-                    if (style.isWaved() && lineHeight < 4) {
-                        lineHeight = 4;
-                    }
-                }
-            }
+        StyledText[] texts;
+        synchronized (_styledTexts) {
+            buildStyledText(label);
+            texts = _styledTexts.toArray(new StyledText[_styledTexts.size()]);
         }
+        layout = new StyledTextLayout(label, font, fontMetrics, texts);
+        _layouts.put(key, layout);
+        return layout;
+    }
 
-        int fontHeight = fm.getHeight();
-        return new Dimension(width, fontHeight + lineHeight);
+    protected Dimension getPreferredSize(StyledLabel label) {
+        StyledTextLayout layout = getStyledTextLayout(label);
+        return new Dimension(layout.width, layout.height);
     }
 
     /**
@@ -230,166 +350,133 @@ public class BasicStyledLabelUI extends BasicLabelUI implements SwingConstants {
             mnemonicIndex = -1;
         }
 
-        buildStyledText(label);
+        StyledTextLayout layout = getStyledTextLayout(label);
+        StyledText[] styledTexts = layout.styledTexts;
 
         Color oldColor = g.getColor();
 
         int charDisplayed = 0;
         boolean displayMnemonic;
         int mneIndex = 0;
-        Font font = getFont(label);
-        FontMetrics fm = label.getFontMetrics(font);
-        FontMetrics fm2;
-        FontMetrics nextFm2 = null;
-        int defaultFontSize = font.getSize();
+        FontMetrics fm = layout.defaultFontMetrics;
 
-        synchronized (_styledTexts) {
-            String nextS;
-            for (int i = 0; i < _styledTexts.size(); i++) {
-                StyledText styledText = _styledTexts.get(i);
-                StyleRange style = styledText.styleRange;
-
-                if (mnemonicIndex >= 0 && styledText.text.length() > mnemonicIndex - charDisplayed) {
-                    displayMnemonic = true;
-                    mneIndex = mnemonicIndex - charDisplayed;
-                }
-                else {
-                    displayMnemonic = false;
-                }
-                charDisplayed += styledText.text.length();
+        String nextS;
+        for (int i = 0; i < styledTexts.length; i++) {
+            StyledText styledText = styledTexts[i];
+            StyleRange style = styledText.styleRange;
+
+            if (mnemonicIndex >= 0 && styledText.text.length() > mnemonicIndex - charDisplayed) {
+                displayMnemonic = true;
+                mneIndex = mnemonicIndex - charDisplayed;
+            }
+            else {
+                displayMnemonic = false;
+            }
+            charDisplayed += styledText.text.length();
 
-                y = textY;
+            y = textY;
 
-                if (nextFm2 == null) {
-                    int size = (style != null &&
-                            (style.isSuperscript() || style.isSubscript())) ? Math.round((float) defaultFontSize / style.getFontShrinkRatio()) : defaultFontSize;
+            FontMetrics fm2 = layout.fontMetrics[i];
+            g.setFont(layout.fonts[i]);
 
-                    font = getFont(label);
-                    if (style != null && ((style.getFontStyle() != -1 && font.getStyle() != style.getFontStyle()) || font.getSize() != size)) {
-                        font = FontUtils.getCachedDerivedFont(font, style.getFontStyle() == -1 ? font.getStyle() : style.getFontStyle(), size);
-                        fm2 = label.getFontMetrics(font);
-                    }
-                    else {
-                        fm2 = fm;
+            String s = styledText.text;
+
+            int strWidth = layout.widths[i];
+
+            boolean stop = false;
+            int widthLeft = label.getWidth() - x;
+            if (widthLeft < strWidth) {
+                // use this method to clip string
+                s = SwingUtilities.layoutCompoundLabel(label, fm2, s, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
+                        label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x, y, widthLeft, label.getHeight()), new Rectangle(), new Rectangle(), 0);
+                strWidth = fm2.stringWidth(s);
+                stop = true;
+            }
+            else if (i < styledTexts.length - 1) {
+                String nextText = styledTexts[i + 1].text;
+                FontMetrics nextFm2 = layout.fontMetrics[i + 1];
+                if (layout.widths[i + 1] > widthLeft - strWidth) {
+                    nextS = SwingUtilities.layoutCompoundLabel(label, nextFm2, nextText, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
+                            label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x + strWidth, y, widthLeft - strWidth, label.getHeight()), new Rectangle(), new Rectangle(), 0);
+                    if (nextFm2.stringWidth(nextS) > widthLeft - strWidth) {
+                        s = SwingUtilities.layoutCompoundLabel(label, fm2, s, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
+                                label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x, y, strWidth - 1, label.getHeight()), new Rectangle(), new Rectangle(), 0);
+                        strWidth = fm2.stringWidth(s);
+                        stop = true;
                     }
                 }
-                else {
-                    fm2 = nextFm2;
-                }
+            }
 
-                g.setFont(font);
+            if (style != null && style.isSuperscript()) {
+                y -= fm.getHeight() - fm2.getHeight();
+            }
 
-                String s = styledText.text;
+            if (style != null && style.getBackgroundColor() != null) {
+                g.setColor(style.getBackgroundColor());
+                g.fillRect(x, y - fm2.getHeight(), strWidth, fm2.getHeight() + 4);
+            }
 
-                int strWidth = fm2.stringWidth(s);
+            Color textColor = (style != null && !label.isIgnoreColorSettings() && style.getFontColor() != null) ? style.getFontColor() : label.getForeground();
+            if (!label.isEnabled()) {
+                textColor = UIDefaultsLookup.getColor("Label.disabledForeground");
+            }
+            g.setColor(textColor);
 
-                boolean stop = false;
-                int widthLeft = label.getWidth() - x;
-                if (widthLeft < strWidth) {
-                    // use this method to clip string
-                    s = SwingUtilities.layoutCompoundLabel(label, fm2, s, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
-                            label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x, y, widthLeft, label.getHeight()), new Rectangle(), new Rectangle(), 0);
-                    strWidth = fm2.stringWidth(s);
-                    stop = true;
-                }
-                else if (i < _styledTexts.size() - 1) {
-                    BasicStyledLabelUI.StyledText nextStyledText = _styledTexts.get(i + 1);
-                    String nextText = nextStyledText.text;
-                    StyleRange nextStyle = nextStyledText.styleRange;
-                    int size = (nextStyle != null &&
-                            (nextStyle.isSuperscript() || nextStyle.isSubscript())) ? Math.round((float) defaultFontSize / nextStyle.getFontShrinkRatio()) : defaultFontSize;
-
-                    font = getFont(label);
-                    if (nextStyle != null && ((nextStyle.getFontStyle() != -1 && font.getStyle() != nextStyle.getFontStyle()) || font.getSize() != size)) {
-                        font = FontUtils.getCachedDerivedFont(font, nextStyle.getFontStyle() == -1 ? font.getStyle() : nextStyle.getFontStyle(), size);
-                        nextFm2 = label.getFontMetrics(font);
-                    }
-                    else {
-                        nextFm2 = fm;
-                    }
-                    if (nextFm2.stringWidth(nextText) > widthLeft - strWidth) {
-                        nextS = SwingUtilities.layoutCompoundLabel(label, nextFm2, nextText, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
-                                label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x + strWidth, y, widthLeft - strWidth, label.getHeight()), new Rectangle(), new Rectangle(), 0);
-                        if (nextFm2.stringWidth(nextS) > widthLeft - strWidth) {
-                            s = SwingUtilities.layoutCompoundLabel(label, fm2, s, null, label.getVerticalAlignment(), label.getHorizontalAlignment(),
-                                    label.getVerticalTextPosition(), label.getHorizontalTextPosition(), new Rectangle(x, y, strWidth - 1, label.getHeight()), new Rectangle(), new Rectangle(), 0);
-                            strWidth = fm2.stringWidth(s);
-                            stop = true;
-                        }
-                    }
-                }
+            if (displayMnemonic) {
+                JideSwingUtilities.drawStringUnderlineCharAt(label, g, s, mneIndex, x, y);
+            }
+            else {
+                JideSwingUtilities.drawString(label, g, s, x, y);
+            }
 
-                if (style != null && style.isSuperscript()) {
-                    y -= fm.getHeight() - fm2.getHeight();
+            if (style != null) {
+                Stroke oldStroke = ((Graphics2D) g).getStroke();
+                if (style.getLineStroke() != null) {
+                    ((Graphics2D) g).setStroke(style.getLineStroke());
                 }
 
-                if (style != null && style.getBackgroundColor() != null) {
-                    g.setColor(style.getBackgroundColor());
-                    g.fillRect(x, y - fm2.getHeight(), strWidth, fm2.getHeight() + 4);
+                if (!label.isIgnoreColorSettings() && style.getLineColor() != null) {
+                    g.setColor(style.getLineColor());
                 }
 
-                Color textColor = (style != null && !label.isIgnoreColorSettings() && style.getFontColor() != null) ? style.getFontColor() : label.getForeground();
-                if (!label.isEnabled()) {
-                    textColor = UIDefaultsLookup.getColor("Label.disabledForeground");
+                if (style.isStrikethrough()) {
+                    int lineY = y + (fm2.getDescent() - fm2.getAscent()) / 2;
+                    g.drawLine(x, lineY, x + strWidth - 1, lineY);
                 }
-                g.setColor(textColor);
-
-                if (displayMnemonic) {
-                    JideSwingUtilities.drawStringUnderlineCharAt(label, g, s, mneIndex, x, y);
+                if (style.isDoublestrikethrough()) {
+                    int lineY = y + (fm2.getDescent() - fm2.getAscent()) / 2;
+                    g.drawLine(x, lineY - 1, x + strWidth - 1, lineY - 1);
+                    g.drawLine(x, lineY + 1, x + strWidth - 1, lineY + 1);
                 }
-                else {
-                    JideSwingUtilities.drawString(label, g, s, x, y);
+                if (style.isUnderlined()) {
+                    int lineY = y + 1;
+                    g.drawLine(x, lineY, x + strWidth - 1, lineY);
                 }
-
-                if (style != null) {
-                    Stroke oldStroke = ((Graphics2D) g).getStroke();
-                    if (style.getLineStroke() != null) {
-                        ((Graphics2D) g).setStroke(style.getLineStroke());
+                if (style.isDotted()) {
+                    int dotY = y + 1;
+                    for (int dotX = x; dotX < x + strWidth; dotX += 4) {
+                        g.drawRect(dotX, dotY, 1, 1);
                     }
-
-                    if (!label.isIgnoreColorSettings() && style.getLineColor() != null) {
-                        g.setColor(style.getLineColor());
-                    }
-
-                    if (style.isStrikethrough()) {
-                        int lineY = y + (fm2.getDescent() - fm2.getAscent()) / 2;
-                        g.drawLine(x, lineY, x + strWidth - 1, lineY);
-                    }
-                    if (style.isDoublestrikethrough()) {
-                        int lineY = y + (fm2.getDescent() - fm2.getAscent()) / 2;
-                        g.drawLine(x, lineY - 1, x + strWidth - 1, lineY - 1);
-                        g.drawLine(x, lineY + 1, x + strWidth - 1, lineY + 1);
-                    }
-                    if (style.isUnderlined()) {
-                        int lineY = y + 1;
-                        g.drawLine(x, lineY, x + strWidth - 1, lineY);
-                    }
-                    if (style.isDotted()) {
-                        int dotY = y + 1;
-                        for (int dotX = x; dotX < x + strWidth; dotX += 4) {
-                            g.drawRect(dotX, dotY, 1, 1);
-                        }
-                    }
-                    if (style.isWaved()) {
-                        int waveY = y + 1;
-                        for (int waveX = x; waveX < x + strWidth; waveX += 4) {
-                            if (waveX + 2 <= x + strWidth - 1)
-                                g.drawLine(waveX, waveY + 2, waveX + 2, waveY);
-                            if (waveX + 4 <= x + strWidth - 1)
-                                g.drawLine(waveX + 3, waveY + 1, waveX + 4, waveY + 2);
-                        }
-                    }
-                    if (style.getLineStroke() != null) {
-                        ((Graphics2D) g).setStroke(oldStroke);
+                }
+                if (style.isWaved()) {
+                    int waveY = y + 1;
+                    for (int waveX = x; waveX < x + strWidth; waveX += 4) {
+                        if (waveX + 2 <= x + strWidth - 1)
+                            g.drawLine(waveX, waveY + 2, waveX + 2, waveY);
+                        if (waveX + 4 <= x + strWidth - 1)
+                            g.drawLine(waveX + 3, waveY + 1, waveX + 4, waveY + 2);
                     }
                 }
-
-                if (stop) {
-                    break;
+                if (style.getLineStroke() != null) {
+                    ((Graphics2D) g).setStroke(oldStroke);
                 }
+            }
 
-                x += strWidth;
+            if (stop) {
+                break;
             }
+
+            x += strWidth;
         }
 
         g.setColor(oldColor);
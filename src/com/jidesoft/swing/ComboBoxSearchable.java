@@ -168,6 +168,7 @@ public class ComboBoxSearchable extends Searchable implements ListDataListener,
     }
 
     public void contentsChanged(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -180,6 +181,7 @@ public class ComboBoxSearchable extends Searchable implements ListDataListener,
     }
 
     public void intervalAdded(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -188,6 +190,7 @@ public class ComboBoxSearchable extends Searchable implements ListDataListener,
     }
 
     public void intervalRemoved(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -198,6 +201,7 @@ public class ComboBoxSearchable extends Searchable implements ListDataListener,
     public void propertyChange(PropertyChangeEvent evt) {
         if ("model".equals(evt.getPropertyName())) {
             hidePopup();
+            clearElementStringCache();
 
             if (evt.getOldValue() instanceof ComboBoxModel) {
                 ((ComboBoxModel) evt.getOldValue()).removeListDataListener(this);
@@ -7,12 +7,22 @@ package com.jidesoft.swing;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 class FastGradientPainter {
     private static GradientCache gradientCache = new GradientCache();
 
+    // the key used to look up the cache, reused so that a cache hit doesn't allocate anything
+    private static final ThreadLocal<GradientInfo> PROBE = new ThreadLocal<GradientInfo>() {
+        @Override
+        protected GradientInfo initialValue() {
+            return new GradientInfo(null, 0, null, null, false);
+        }
+    };
+
     //no instantiation
     private FastGradientPainter() {
     }
@@ -24,6 +34,10 @@ class FastGradientPainter {
         gradientCache.clear();
     }
 
+    static GradientCache getGradientCache() {
+        return gradientCache;
+    }
+
     /**
      * Draws a rectangular gradient in a vertical or horizontal direction. The drawing operations are hardware optimized
      * whenever possible using the Java2D hardware rendering facilities. The result is gradient rendering approaching
@@ -40,13 +54,16 @@ class FastGradientPainter {
         if (r.height <= 0 || r.width <= 0) return;
 
         int length = isVertical ? r.height : r.width;
-        GradientInfo info = new GradientInfo(g2.getDeviceConfiguration(), length, startColor, endColor, isVertical);
+        GradientInfo info = PROBE.get();
+        info.set(g2.getDeviceConfiguration(), length, startColor, endColor, isVertical);
 
         BufferedImage gradient = gradientCache.retrieve(info);
         if (gradient == null) {
             gradient = createGradientTile(info);
-            gradientCache.store(info, gradient);
+            gradientCache.store(info.copy(), gradient);
         }
+        // don't keep the graphics configuration and the colors alive through the thread local
+        info.set(null, 0, null, null, false);
 
         Shape prevClip = null;
         boolean nonRectangular = false;
@@ -115,6 +132,10 @@ class GradientInfo {
     boolean isVertical;
 
     public GradientInfo(GraphicsConfiguration gc, int ln, Color sc, Color ec, boolean v) {
+        set(gc, ln, sc, ec, v);
+    }
+
+    void set(GraphicsConfiguration gc, int ln, Color sc, Color ec, boolean v) {
         gfxConfig = gc;
         length = ln;
         startColor = sc;
@@ -122,6 +143,10 @@ class GradientInfo {
         isVertical = v;
     }
 
+    GradientInfo copy() {
+        return new GradientInfo(gfxConfig, length, startColor, endColor, isVertical);
+    }
+
     boolean isEquivalent(GradientInfo gi) {
         return (gi.gfxConfig.equals(gfxConfig) && gi.length == length && gi.startColor.equals(startColor) && gi.endColor.equals(endColor) && gi.isVertical == isVertical);
     }
@@ -132,6 +157,16 @@ class GradientInfo {
         return isEquivalent((GradientInfo) o);
     }
 
+    @Override
+    public int hashCode() {
+        int result = gfxConfig.hashCode();
+        result = 31 * result + length;
+        result = 31 * result + startColor.getRGB();
+        result = 31 * result + endColor.getRGB();
+        result = 31 * result + (isVertical ? 1 : 0);
+        return result;
+    }
+
     @Override
     public String toString() {
         return "Direction:" + (isVertical ? "ver" : "hor") + ", Length: " + Integer.toString(length) + ", Color1: " + Integer.toString(startColor.getRGB(), 16) + ", Color2: " + Integer.toString(endColor.getRGB(), 16);
@@ -139,181 +174,85 @@ class GradientInfo {
 }
 
 /**
- * A cache utilizing SoftReferences under the hood for memory efficient handling of gradients.
+ * A cache of the least recently used gradients. The gradients are kept through SoftReferences so that they can be
+ * garbage collected when memory is low. It can be used from any thread.
  */
 class GradientCache {
-    private GradientCacheEntry[] gradients;
-    private int size;
-    private int threshold;
-    private final float loadFactor;
-    private final ReferenceQueue queue = new ReferenceQueue();
+    static final int DEFAULT_CAPACITY = 256;
 
-    GradientCache() {
-        this.loadFactor = 0.75f;
-        threshold = 16;
-        gradients = new GradientCacheEntry[16];
-    }
+    private final Map<GradientInfo, SoftReference<BufferedImage>> gradients;
+    private int capacity = DEFAULT_CAPACITY;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
 
-    BufferedImage retrieve(GradientInfo info) {
-        int ln = info.length;
-        GradientCacheEntry[] grads = getGradients();
-        int index = bucket(ln, grads.length);
-        GradientCacheEntry e = grads[index];
-
-        while (e != null) {
-            GradientInfo egi = e.getInfo();
-            try {
-                if (egi != null) {
-                    if (e.length == ln && egi.isEquivalent(info)) {
-                        return e.gradient;
-                    }
+    GradientCache() {
+        gradients = new LinkedHashMap<GradientInfo, SoftReference<BufferedImage>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4412357818307340447L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GradientInfo, SoftReference<BufferedImage>> eldest) {
+                if (size() > capacity) {
+                    evictionCount++;
+                    return true;
                 }
+                return false;
             }
-            catch (NullPointerException npe) {
-                // apparently egi will or e will be cleared anyways sometimes,
-                // so we have to catch a possible NPE
-                // I print the values to get a better understanding of the situation.
-                // comment this if unacceptable or change to use logging if needed
-//                System.err.println("e = " + e);
-//                System.err.println("egi = " + egi);
-            }
-            e = e.next;
-        }
-        return null;
-    }
-
-    Object store(GradientInfo info, BufferedImage gradient) {
-        GradientCacheEntry[] grads = getGradients();
-        int i = bucket(info.length, grads.length);
-
-        GradientCacheEntry e = grads[i];
-
-        if (!entryNotInCache(e, info)) {
-            System.err.println("Duplicate entry found!");
-        }
-
-        grads[i] = new GradientCacheEntry(info, gradient, queue, e);
-        if (++size >= threshold)
-            resize(grads.length << 1);
-        return null;
+        };
     }
 
-    void clear() {
-        GradientCacheEntry[] a = getGradients();
-        for(int i=0;i<a.length;i++) {
-          a[i]=null;
+    synchronized BufferedImage retrieve(GradientInfo info) {
+        SoftReference<BufferedImage> reference = gradients.get(info);
+        BufferedImage gradient = reference != null ? reference.get() : null;
+        if (gradient != null) {
+            hitCount++;
         }
-        size=0;
-        threshold = 16;
-        gradients = new GradientCacheEntry[16];
-    }
-
-    private boolean entryNotInCache(GradientCacheEntry e, GradientInfo info) {
-        while (e != null && e.getInfo() != null) { // to fix a NPE
-            if (e.length == info.length && e.getInfo().isEquivalent(info)) {
-                return false;
+        else {
+            if (reference != null) {
+                // cleared by the garbage collector
+                gradients.remove(info);
+                evictionCount++;
             }
-            e = e.next;
+            missCount++;
         }
-        return true;
+        return gradient;
     }
 
-    private void resize(int newCapacity) {
-        GradientCacheEntry[] oldArray = getGradients();
-        int oldCapacity = oldArray.length;
-        if (oldCapacity == ((Integer.MAX_VALUE >> 1) + 1)) {
-            threshold = Integer.MAX_VALUE;
-            return;
-        }
-
-        GradientCacheEntry[] newArray = new GradientCacheEntry[newCapacity];
-        moveEntries(oldArray, newArray);
-        gradients = newArray;
-
-        if (size >= (threshold >> 1)) {
-            threshold = (int) (newCapacity * loadFactor);
-        }
-        else {
-            cleanOldCacheEntries();
-            moveEntries(newArray, oldArray);
-            gradients = oldArray;
-        }
+    synchronized void store(GradientInfo info, BufferedImage gradient) {
+        gradients.put(info, new SoftReference<BufferedImage>(gradient));
     }
 
-    private GradientCacheEntry[] getGradients() {
-        cleanOldCacheEntries();
-        return gradients;
+    synchronized void clear() {
+        gradients.clear();
     }
 
-    private static int bucket(int h, int length) {
-        return h & (length - 1);
+    synchronized int size() {
+        return gradients.size();
     }
 
-    private void moveEntries(GradientCacheEntry[] src, GradientCacheEntry[] dest) {
-        for (int j = 0; j < src.length; ++j) {
-            GradientCacheEntry e = src[j];
-            src[j] = null;
-            while (e != null) {
-                GradientCacheEntry next = e.next;
-                Object o = e.get();
-                if (o == null) {
-                    e.next = null;
-                    e.gradient = null;
-                    size--;
-                }
-                else {
-                    int i = bucket(e.length, dest.length);
-                    e.next = dest[i];
-                    dest[i] = e;
-                }
-                e = next;
-            }
-        }
+    synchronized int getCapacity() {
+        return capacity;
     }
 
-    private void cleanOldCacheEntries() {
-        GradientCacheEntry e;
-        while ((e = (GradientCacheEntry) queue.poll()) != null) {
-            int i = bucket(e.length, gradients.length);
-
-            GradientCacheEntry prev = gradients[i];
-            GradientCacheEntry p = prev;
-            while (p != null) {
-                GradientCacheEntry next = p.next;
-                if (p == e) {
-                    if (prev == e)
-                        gradients[i] = next;
-                    else
-                        prev.next = next;
-                    e.next = null;
-                    e.gradient = null;
-                    size--;
-                    break;
-                }
-                prev = p;
-                p = next;
-            }
+    synchronized void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        Iterator<GradientInfo> iterator = gradients.keySet().iterator();
+        while (gradients.size() > this.capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount++;
         }
     }
-}
 
-class GradientCacheEntry extends SoftReference {
-    GradientCacheEntry next;
-    BufferedImage gradient;
-    int length;
-
-    GradientCacheEntry(GradientInfo info, BufferedImage gradient, ReferenceQueue queue, GradientCacheEntry next) {
-        super(info, queue);
-        this.next = next;
-        this.gradient = gradient;
-        length = info.length;
+    synchronized long getHitCount() {
+        return hitCount;
     }
 
-    GradientInfo getInfo() {
-        return (GradientInfo) get();
+    synchronized long getMissCount() {
+        return missCount;
     }
 
-    BufferedImage getGradient() {
-        return gradient;
+    synchronized long getEvictionCount() {
+        return evictionCount;
     }
 }
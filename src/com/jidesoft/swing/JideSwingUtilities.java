@@ -2382,7 +2382,7 @@ public class JideSwingUtilities implements SwingConstants {
      * not only leverage hardware acceleration, but also cache GradientPaint and reuse it.
      * <p/>
      * We also leave an option to use the normal GradientPaint to paint the gradient. To do so, just set a system
-     * property "normalGradientPaint" to "false".
+     * property "normalGradientPaint" to "true" or call {@link #setNormalGradientPaint(boolean)}.
      *
      * @param g2d
      * @param s
@@ -2391,7 +2391,7 @@ public class JideSwingUtilities implements SwingConstants {
      * @param isVertical
      */
     public static void fillGradient(Graphics2D g2d, Shape s, Color startColor, Color endColor, boolean isVertical) {
-        if ("true".equals(SecurityUtils.getProperty("normalGradientPaint", "false"))) {
+        if (isNormalGradientPaint()) {
             fillNormalGradient(g2d, s, startColor, endColor, isVertical);
         }
         else {
@@ -2399,6 +2399,34 @@ public class JideSwingUtilities implements SwingConstants {
         }
     }
 
+    private static volatile Boolean _normalGradientPaint;
+
+    /**
+     * Checks if {@link #fillGradient(java.awt.Graphics2D, java.awt.Shape, java.awt.Color, java.awt.Color, boolean)}
+     * uses the normal GradientPaint instead of the cached gradients. By default, it is the value of system property
+     * "normalGradientPaint", read the first time this method is called.
+     *
+     * @return true if the normal GradientPaint is used.
+     */
+    public static boolean isNormalGradientPaint() {
+        Boolean normalGradientPaint = _normalGradientPaint;
+        if (normalGradientPaint == null) {
+            normalGradientPaint = "true".equals(SecurityUtils.getProperty("normalGradientPaint", "false"));
+            _normalGradientPaint = normalGradientPaint;
+        }
+        return normalGradientPaint;
+    }
+
+    /**
+     * Sets if {@link #fillGradient(java.awt.Graphics2D, java.awt.Shape, java.awt.Color, java.awt.Color, boolean)} should
+     * use the normal GradientPaint instead of the cached gradients.
+     *
+     * @param normalGradientPaint true to use the normal GradientPaint.
+     */
+    public static void setNormalGradientPaint(boolean normalGradientPaint) {
+        _normalGradientPaint = normalGradientPaint;
+    }
+
     /**
      * Clears the gradient cache used for fast gradient painting
      */
@@ -2406,6 +2434,64 @@ public class JideSwingUtilities implements SwingConstants {
         FastGradientPainter.clearGradientCache();
     }
 
+    /**
+     * Gets the maximum number of gradients in the gradient cache used for fast gradient painting.
+     *
+     * @return the capacity of the gradient cache.
+     */
+    public static int getGradientCacheCapacity() {
+        return FastGradientPainter.getGradientCache().getCapacity();
+    }
+
+    /**
+     * Sets the maximum number of gradients in the gradient cache used for fast gradient painting. When the cache is
+     * full, the least recently used gradient is removed. Default is 256. A larger cache could help when many components
+     * of different sizes are painted with gradients, for example on several large screens.
+     *
+     * @param capacity the capacity of the gradient cache.
+     */
+    public static void setGradientCacheCapacity(int capacity) {
+        FastGradientPainter.getGradientCache().setCapacity(capacity);
+    }
+
+    /**
+     * Gets the number of gradients in the gradient cache used for fast gradient painting.
+     *
+     * @return the number of cached gradients.
+     */
+    public static int getGradientCacheSize() {
+        return FastGradientPainter.getGradientCache().size();
+    }
+
+    /**
+     * Gets how many times a gradient was found in the gradient cache used for fast gradient painting.
+     *
+     * @return the hit count.
+     */
+    public static long getGradientCacheHitCount() {
+        return FastGradientPainter.getGradientCache().getHitCount();
+    }
+
+    /**
+     * Gets how many times a gradient was not found in the gradient cache used for fast gradient painting and had to be
+     * created.
+     *
+     * @return the miss count.
+     */
+    public static long getGradientCacheMissCount() {
+        return FastGradientPainter.getGradientCache().getMissCount();
+    }
+
+    /**
+     * Gets how many gradients were removed from the gradient cache used for fast gradient painting, because the cache
+     * was full or because they were garbage collected.
+     *
+     * @return the eviction count.
+     */
+    public static long getGradientCacheEvictionCount() {
+        return FastGradientPainter.getGradientCache().getEvictionCount();
+    }
+
     /**
      * Gets the top modal dialog of current window.
      *
@@ -2835,20 +2921,24 @@ public class JideSwingUtilities implements SwingConstants {
         }
     }
 
+    private static final ShadowFactory SHADOW_FACTORY = new ShadowFactory(6, 0.7f, Color.GRAY);
+
+    /**
+     * Draws the shadow of a rectangle. The shadow is painted from the cached shadow slices of {@link ShadowFactory},
+     * so nothing is blurred again when a shadow is painted repeatedly.
+     *
+     * @param g the Graphics
+     * @param c the component
+     * @param x the x coordinate of the shadow
+     * @param y the y coordinate of the shadow
+     * @param w the width of the rectangle
+     * @param h the height of the rectangle
+     */
     public static void drawShadow(Graphics g, Component c, int x, int y, int w, int h) {
         if (w <= 0 || h <= 0) {
             return;
         }
-        ShadowFactory factory = new ShadowFactory(6, 0.7f, Color.GRAY);
-        BufferedImage temp = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = temp.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g2.setColor(Color.BLACK);
-        g2.fillRect(0, 0, temp.getWidth(), temp.getHeight());
-        g2.dispose();
-        BufferedImage shadow = factory.createShadow(temp);
-        g.drawImage(shadow, x, y, c);
+        SHADOW_FACTORY.paintRectangleShadow(g, x, y, w, h);
     }
 
     static {
@@ -13,6 +13,7 @@ import javax.swing.event.ListDataListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.awt.*;
+import java.util.BitSet;
 
 /**
  * <code>ListSearchable</code> is an concrete implementation of {@link Searchable} that enables the search function in
@@ -81,6 +82,26 @@ public class ListSearchable extends Searchable implements ListDataListener, Prop
         ((JList) _component).ensureIndexIsVisible(index);
     }
 
+    @Override
+    protected void setSelectedIndices(BitSet indices, boolean incremental) {
+        ListSelectionModel selectionModel = ((JList) _component).getSelectionModel();
+        selectionModel.setValueIsAdjusting(true);
+        try {
+            if (!incremental) {
+                selectionModel.clearSelection();
+            }
+            // consecutive matches are added as one interval
+            for (int start = indices.nextSetBit(0); start >= 0; ) {
+                int end = indices.nextClearBit(start);
+                selectionModel.addSelectionInterval(start, end - 1);
+                start = indices.nextSetBit(end);
+            }
+        }
+        finally {
+            selectionModel.setValueIsAdjusting(false);
+        }
+    }
+
     @Override
     protected int getSelectedIndex() {
         return ((JList) _component).getSelectedIndex();
@@ -135,6 +156,7 @@ public class ListSearchable extends Searchable implements ListDataListener, Prop
     }
 
     public void contentsChanged(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -146,6 +168,7 @@ public class ListSearchable extends Searchable implements ListDataListener, Prop
     }
 
     public void intervalAdded(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -154,6 +177,7 @@ public class ListSearchable extends Searchable implements ListDataListener, Prop
     }
 
     public void intervalRemoved(ListDataEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
@@ -164,6 +188,7 @@ public class ListSearchable extends Searchable implements ListDataListener, Prop
     public void propertyChange(PropertyChangeEvent evt) {
         if ("model".equals(evt.getPropertyName())) {
             hidePopup();
+            clearElementStringCache();
 
             ListModel oldModel = (ListModel) evt.getOldValue();
             if (oldModel != null) {
@@ -20,9 +20,17 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.BitSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -94,8 +102,9 @@ public abstract class Searchable {
      * optional SearchableProvider
      */
     private SearchableProvider _searchableProvider;
-    private Pattern _pattern;
-    private String _searchText;
+    private volatile SearchMatcher _searchMatcher;
+    private boolean _elementStringCached = false;
+    private final Map<Object, String> _elementStrings = new IdentityHashMap<Object, String>();
     private String _previousSearchText;
 
     private boolean _fromStart = true;
@@ -145,6 +154,14 @@ public abstract class Searchable {
     private boolean _processModelChangeEvent = true;
     private boolean _hideSearchPopupOnEvent = true;
 
+    private boolean _backgroundSearch = false;
+    private Executor _searchExecutor;
+    private volatile int _searchGeneration;
+
+    private static ExecutorService _defaultSearchExecutor;
+
+    private static final int SEARCH_CHUNK_SIZE = 1000;
+
     /**
      * Creates a Searchable.
      *
@@ -213,6 +230,44 @@ public abstract class Searchable {
         setSelectedIndex(index, incremental);
     }
 
+    /**
+     * Sets the selected indices as one batch. The default implementation just invokes {@link #setSelectedIndex(int,
+     * boolean)} for each index. The concrete implementation could override it to change the selection of the component
+     * in one single selection change, so that selecting thousands of matches doesn't fire thousands of selection
+     * events.
+     *
+     * @param indices     the indices to be selected
+     * @param incremental a flag to enable multiple selection. If the flag is true, the elements at the indices should be
+     *                    added to current selection. If false, you should clear previous selection and then select the
+     *                    elements.
+     */
+    protected void setSelectedIndices(BitSet indices, boolean incremental) {
+        if (!incremental && indices.isEmpty()) {
+            setSelectedIndex(-1, false);
+            return;
+        }
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            setSelectedIndex(i, incremental);
+            incremental = true;
+        }
+    }
+
+    /**
+     * Sets the selected indices. All the method does is to invoke {@link #setSelectedIndices(BitSet, boolean)}, the
+     * same way as {@link #adjustSelectedIndex(int, boolean)} does for a single index.
+     * <p/>
+     * Please do NOT try to override this method. Always override {@link #setSelectedIndices(BitSet, boolean)}
+     * instead.
+     *
+     * @param indices     the indices to be selected
+     * @param incremental a flag to enable multiple selection. If the flag is true, the elements at the indices should be
+     *                    added to current selection. If false, you should clear previous selection and then select the
+     *                    elements.
+     */
+    public void adjustSelectedIndices(BitSet indices, boolean incremental) {
+        setSelectedIndices(indices, incremental);
+    }
+
     /**
      * Gets the total element count in the component. Different concrete implementation could have different
      * interpretation of the count. This is totally OK as long as it's consistent in all the methods. For example, the
@@ -352,9 +407,25 @@ public abstract class Searchable {
                 }
 
                 protected void applyText() {
-                    String text = _textField.getText().trim();
+                    final String text = _textField.getText().trim();
                     firePropertyChangeEvent(text);
-                    if (text.length() != 0) {
+                    if (text.length() != 0 && isBackgroundSearch()) {
+                        findInBackground(text, getCurrentIndex(), true, new SearchCallback() {
+                            public boolean matchFound(int index) {
+                                _textField.setForeground(foreground);
+                                select(index, null, text);
+                                return false;
+                            }
+
+                            public void searchFinished(int matchCount) {
+                                if (matchCount == 0) {
+                                    _textField.setForeground(getMismatchForeground());
+                                    select(-1, null, text);
+                                }
+                            }
+                        });
+                    }
+                    else if (text.length() != 0) {
                         int found = findFromCursor(text);
                         if (found == -1) {
                             _textField.setForeground(getMismatchForeground());
@@ -365,6 +436,7 @@ public abstract class Searchable {
                         select(found, null, text);
                     }
                     else {
+                        cancelBackgroundSearch();
                         _textField.setForeground(foreground);
                         _noMatch.setText("");
                         updatePopupBounds();
@@ -468,6 +540,7 @@ public abstract class Searchable {
             }
             _popup = null;
             _searchableProvider = null;
+            cancelBackgroundSearch();
             fireSearchableEvent(new SearchableEvent(Searchable.this, SearchableEvent.SEARCHABLE_END, "", getCurrentIndex(), _previousSearchText));
         }
         setCursor(-1);
@@ -615,6 +688,7 @@ public abstract class Searchable {
      * searchable.
      */
     public void uninstallListeners() {
+        cancelBackgroundSearch();
         if (_componentListener != null) {
             getComponent().removeComponentListener(_componentListener);
             Component scrollPane = JideSwingUtilities.getScrollPane(getComponent());
@@ -680,8 +754,75 @@ public abstract class Searchable {
      * @return true if matches.
      */
     protected boolean compare(Object element, String searchingText) {
-        String text = convertElementToString(element);
-        return text != null && compare(isCaseSensitive() ? text : text.toLowerCase(), searchingText);
+        String text = getElementString(element);
+        return text != null && compare(text, searchingText);
+    }
+
+    /**
+     * Gets the string of the element as it is compared with the searching text, i.e. the string converted by {@link
+     * #convertElementToString(Object)} in lower case if the search is not case sensitive. If {@link
+     * #isElementStringCached()} is true, the string is only converted the first time this method is called for the
+     * element.
+     *
+     * @param element the element
+     * @return the string of the element to be compared with the searching text.
+     */
+    protected String getElementString(Object element) {
+        if (!isElementStringCached()) {
+            String text = convertElementToString(element);
+            return text == null || isCaseSensitive() ? text : text.toLowerCase();
+        }
+
+        synchronized (_elementStrings) {
+            String text = _elementStrings.get(element);
+            if (text == null) {
+                text = convertElementToString(element);
+                if (text != null) {
+                    if (!isCaseSensitive()) {
+                        text = text.toLowerCase();
+                    }
+                    // elements created on the fly are never found again, don't let them pile up
+                    if (_elementStrings.size() >= Math.max(1024, 2 * getElementCount())) {
+                        _elementStrings.clear();
+                    }
+                    _elementStrings.put(element, text);
+                }
+            }
+            return text;
+        }
+    }
+
+    /**
+     * Checks if the strings of the elements are cached. See {@link #setElementStringCached(boolean)} for details.
+     *
+     * @return true if the strings of the elements are cached. Otherwise false.
+     */
+    public boolean isElementStringCached() {
+        return _elementStringCached;
+    }
+
+    /**
+     * Sets the flag if the strings converted from the elements should be cached. The cache is keyed by the identity of
+     * the element and is cleared when the model of the component changes. It saves converting and lower casing every
+     * element again for every key that user types. You should only set it to true if the elements are kept by the
+     * model, not created in {@link #getElementAt(int)}, and if {@link #convertElementToString(Object)} returns the same
+     * string for an element until the model fires an event. Default is false.
+     *
+     * @param elementStringCached true to cache the strings of the elements.
+     */
+    public void setElementStringCached(boolean elementStringCached) {
+        _elementStringCached = elementStringCached;
+        clearElementStringCache();
+    }
+
+    /**
+     * Clears the cached strings of the elements. It is called when the model of the component changes. If the strings
+     * returned by {@link #convertElementToString(Object)} change without a model event, you should call this method.
+     */
+    public void clearElementStringCache() {
+        synchronized (_elementStrings) {
+            _elementStrings.clear();
+        }
     }
 
     /**
@@ -693,38 +834,118 @@ public abstract class Searchable {
      * @return true if matches.
      */
     protected boolean compare(String text, String searchingText) {
-        if (searchingText == null || searchingText.trim().length() == 0) {
+        if (searchingText == null) {
             return true;
         }
+        return getSearchMatcher(searchingText).matches(text);
+    }
+
+    private SearchMatcher getSearchMatcher(String searchingText) {
+        boolean wildcardEnabled = isWildcardEnabled();
+        boolean fromStart = isFromStart();
+        boolean caseSensitive = isCaseSensitive();
 
-        if (!isWildcardEnabled()) {
-            return searchingText != null &&
-                    (searchingText.equals(text) || searchingText.length() > 0 && (isFromStart() ? text.startsWith(searchingText) : text.indexOf(searchingText) != -1));
+        // use the previous matcher since nothing changed. The matcher is read and replaced as a whole so that this
+        // method can be called from the background search thread.
+        SearchMatcher matcher = _searchMatcher;
+        if (matcher != null && matcher.searchText.equals(searchingText) && matcher.wildcardEnabled == wildcardEnabled
+                && matcher.fromStart == fromStart && matcher.caseSensitive == caseSensitive) {
+            return matcher;
         }
-        else {
-            // use the previous pattern since nothing changed.
-            if (_searchText != null && _searchText.equals(searchingText) && _pattern != null) {
-                return _pattern.matcher(text).find();
-            }
 
-            WildcardSupport wildcardSupport = getWildcardSupport();
-            String s = wildcardSupport.convert(searchingText);
+        if (searchingText.trim().length() == 0) {
+            matcher = new SearchMatcher(searchingText, wildcardEnabled, fromStart, caseSensitive);
+        }
+        else if (!wildcardEnabled) {
+            matcher = new TextSearchMatcher(searchingText, wildcardEnabled, fromStart, caseSensitive, searchingText);
+        }
+        else {
+            String s = getWildcardSupport().convert(searchingText);
             if (searchingText.equals(s)) {
-                return isFromStart() ? text.startsWith(searchingText) : text.indexOf(searchingText) != -1;
+                matcher = new TextSearchMatcher(searchingText, wildcardEnabled, fromStart, caseSensitive, searchingText);
             }
-            _searchText = searchingText;
-
-            try {
-                _pattern = Pattern.compile(isFromStart() ? "^" + s : s, isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE);
-                return _pattern.matcher(text).find();
+            else {
+                Pattern pattern;
+                try {
+                    pattern = Pattern.compile(fromStart ? "^" + s : s, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+                }
+                catch (PatternSyntaxException e) {
+                    pattern = null;
+                }
+                matcher = new PatternSearchMatcher(searchingText, wildcardEnabled, fromStart, caseSensitive, pattern);
             }
-            catch (PatternSyntaxException e) {
+        }
+        _searchMatcher = matcher;
+        return matcher;
+    }
+
+    /**
+     * Matches the element strings against one searching text. The base class matches everything, which is used for
+     * the empty searching text.
+     */
+    private static class SearchMatcher {
+        final String searchText;
+        final boolean wildcardEnabled;
+        final boolean fromStart;
+        final boolean caseSensitive;
+
+        SearchMatcher(String searchText, boolean wildcardEnabled, boolean fromStart, boolean caseSensitive) {
+            this.searchText = searchText;
+            this.wildcardEnabled = wildcardEnabled;
+            this.fromStart = fromStart;
+            this.caseSensitive = caseSensitive;
+        }
+
+        boolean matches(String text) {
+            return true;
+        }
+    }
+
+    /**
+     * Matches a plain text. The element string is already in lower case if the search is not case sensitive so a
+     * plain substring search is enough, no string is created per element.
+     */
+    private static class TextSearchMatcher extends SearchMatcher {
+        private final String _text;
+
+        TextSearchMatcher(String searchText, boolean wildcardEnabled, boolean fromStart, boolean caseSensitive, String text) {
+            super(searchText, wildcardEnabled, fromStart, caseSensitive);
+            _text = text;
+        }
+
+        @Override
+        boolean matches(String text) {
+            return fromStart ? text.startsWith(_text) : text.indexOf(_text) != -1;
+        }
+    }
+
+    /**
+     * Matches the pattern converted from the wildcards. The pattern is compiled once for the searching text.
+     */
+    private static class PatternSearchMatcher extends SearchMatcher {
+        private final Pattern _pattern; // null if the searching text is not a valid pattern
+        private Matcher _matcher;
+
+        PatternSearchMatcher(String searchText, boolean wildcardEnabled, boolean fromStart, boolean caseSensitive, Pattern pattern) {
+            super(searchText, wildcardEnabled, fromStart, caseSensitive);
+            _pattern = pattern;
+        }
+
+        @Override
+        synchronized boolean matches(String text) {
+            if (_pattern == null) {
                 return false;
             }
+            if (_matcher == null) {
+                _matcher = _pattern.matcher(text);
+            }
+            else {
+                _matcher.reset(text);
+            }
+            return _matcher.find();
         }
     }
 
-
     /**
      * Gets the cursor which is the index of current location when searching. The value will be used in findNext and
      * findPrevious.
@@ -768,31 +989,70 @@ public abstract class Searchable {
      * text to search, you may want to override this method to have a lazy behavior on visible areas only.
      */
     protected void highlightAll() {
-        int firstIndex = -1;
-        int index = getSelectedIndex();
-        String text = getSearchingText();
+        if (isBackgroundSearch()) {
+            final String text = getSearchingText();
+            findInBackground(text, 0, true, new ChunkSearchCallback() {
+                private int _firstIndex = -1;
+                private BitSet _matches = new BitSet();
+
+                public boolean matchFound(int index) {
+                    if (_firstIndex == -1) {
+                        _firstIndex = index;
+                    }
+                    _matches.set(index);
+                    return true;
+                }
 
-        while (index != -1) {
-            int newIndex = findNext(text);
-            if (index == newIndex) {
-                index = -1;
-            }
-            else {
-                index = newIndex;
-            }
-            if (index != -1) {
-                if (firstIndex == -1) {
-                    firstIndex = index;
+                public void chunkSearched() {
+                    if (!_matches.isEmpty()) {
+                        adjustSelectedIndices(_matches, true);
+                        addToCursorSelection(_matches);
+                        _matches = new BitSet();
+                    }
                 }
-                select(index, text);
+
+                public void searchFinished(int matchCount) {
+                    // now select the first one
+                    if (_firstIndex != -1) {
+                        select(_firstIndex, text);
+                    }
+                }
+            });
+            return;
+        }
+
+        if (getSelectedIndex() == -1) {
+            return;
+        }
+
+        String text = getSearchingText();
+        int cursor = getCurrentIndex();
+        BitSet matches = findAll(text);
+        // the same matches findNext would visit one after another
+        int firstIndex = matches.nextSetBit(cursor + 1);
+        if (isRepeats()) {
+            if (firstIndex == -1) {
+                firstIndex = matches.nextSetBit(0);
             }
         }
-        // now select the first one
+        else {
+            matches.clear(0, cursor + 1);
+        }
+
         if (firstIndex != -1) {
+            adjustSelectedIndices(matches, true);
+            addToCursorSelection(matches);
+            // now select the first one
             select(firstIndex, text);
         }
     }
 
+    void addToCursorSelection(BitSet indices) {
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            _selection.add(i);
+        }
+    }
+
     /**
      * Cancel highlight all.
      * <p/>
@@ -822,6 +1082,25 @@ public abstract class Searchable {
         }
     }
 
+    /**
+     * Finds all the matching indices. Different from calling {@link #findNext(String)} repeatedly, it goes through the
+     * elements only once.
+     *
+     * @param s the searching text
+     * @return a BitSet with the bits of all the indices that the elements match the searching text set.
+     */
+    public BitSet findAll(String s) {
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        int count = getElementCount();
+        BitSet matches = new BitSet(count);
+        for (int i = 0; i < count; i++) {
+            Object element = getElementAt(i);
+            if (compare(element, str))
+                matches.set(i);
+        }
+        return matches;
+    }
+
     /**
      * Finds the next matching index from the cursor.
      *
@@ -1004,6 +1283,261 @@ public abstract class Searchable {
         return -1;
     }
 
+    /**
+     * Receives the matches of a background search started by {@link #findInBackground(String, int, boolean,
+     * SearchCallback)}. All methods are called on the event dispatch thread.
+     */
+    public interface SearchCallback {
+        /**
+         * Called for each matching index, in the searching order, as soon as it is found.
+         *
+         * @param index the matching index
+         * @return true to continue the search. False to stop it.
+         */
+        boolean matchFound(int index);
+
+        /**
+         * Called once when the search is done, either because all elements were searched or because {@link
+         * #matchFound(int)} returned false. It is not called if the search was cancelled.
+         *
+         * @param matchCount the number of matches found.
+         */
+        void searchFinished(int matchCount);
+    }
+
+    /**
+     * A {@link SearchCallback} which is also notified after the matches of each chunk of elements were passed to {@link
+     * #matchFound(int)}, so that it can apply them to the component at once. All methods are called on the event
+     * dispatch thread.
+     */
+    public interface ChunkSearchCallback extends SearchCallback {
+        /**
+         * Called after the matches of a chunk of elements were passed to {@link #matchFound(int)}. If the search ends
+         * with the chunk, it is called before {@link #searchFinished(int)}. It is not called if the search was
+         * cancelled.
+         */
+        void chunkSearched();
+    }
+
+    /**
+     * Checks if the search triggered by typing in the search popup or the {@link SearchableBar} runs in the background.
+     *
+     * @return true if the search runs in the background.
+     * @see #setBackgroundSearch(boolean)
+     */
+    public boolean isBackgroundSearch() {
+        return _backgroundSearch;
+    }
+
+    /**
+     * Sets whether the search triggered by typing in the search popup or the {@link SearchableBar}, and the highlight
+     * all, run in the background. You should turn it on if the component has a huge number of elements.
+     * <p/>
+     * In the background search, the elements are converted to strings using {@link #convertElementToString(Object)} on
+     * the event dispatch thread, a chunk at a time, and the strings are matched using {@link #compare(String, String)}
+     * on the {@link #getSearchExecutor()}. If you override compare(String, String), it must be thread safe. The matches
+     * are delivered as they are found, and a new search cancels the previous one. Please note, {@link
+     * #compare(Object, String)} is not used in the background search.
+     * <p/>
+     * By default, it is false.
+     *
+     * @param backgroundSearch true to search in the background.
+     */
+    public void setBackgroundSearch(boolean backgroundSearch) {
+        if (!backgroundSearch) {
+            cancelBackgroundSearch();
+        }
+        _backgroundSearch = backgroundSearch;
+    }
+
+    /**
+     * Gets the executor that matches the element strings in the background search. If no executor is set, a shared
+     * executor with daemon threads is used.
+     *
+     * @return the executor.
+     */
+    public Executor getSearchExecutor() {
+        if (_searchExecutor == null) {
+            return getDefaultSearchExecutor();
+        }
+        return _searchExecutor;
+    }
+
+    /**
+     * Sets the executor that matches the element strings in the background search.
+     *
+     * @param searchExecutor the executor. Null to use the shared default executor.
+     */
+    public void setSearchExecutor(Executor searchExecutor) {
+        _searchExecutor = searchExecutor;
+    }
+
+    private static synchronized Executor getDefaultSearchExecutor() {
+        if (_defaultSearchExecutor == null) {
+            _defaultSearchExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "Searchable");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return _defaultSearchExecutor;
+    }
+
+    /**
+     * Searches all the elements for the searching text in the background. It starts at the start index and goes in the
+     * searching order, backward if {@link #isReverseOrder()} is true. Each match is passed to the callback as soon as
+     * it is found. Any background search that is still running is cancelled first.
+     * <p/>
+     * This method must be called on the event dispatch thread.
+     *
+     * @param s          the searching text
+     * @param startIndex the index where the search starts.
+     * @param wrap       true to continue from the other end after reaching the end, until all elements are searched.
+     * @param callback   the callback to receive the matches.
+     */
+    public void findInBackground(String s, int startIndex, boolean wrap, SearchCallback callback) {
+        cancelBackgroundSearch();
+        int count = getElementCount();
+        if (startIndex < 0 || startIndex >= count) {
+            startIndex = isReverseOrder() ? count - 1 : 0;
+        }
+        new BackgroundSearch(_searchGeneration, isCaseSensitive() ? s : s.toLowerCase(), isCaseSensitive(), startIndex, count, wrap, callback).searchNextChunk();
+    }
+
+    /**
+     * Cancels the background search if any. The callback of a cancelled search is never called again.
+     */
+    public void cancelBackgroundSearch() {
+        _searchGeneration++;
+    }
+
+    private class BackgroundSearch implements Runnable {
+        private final int _generation;
+        private final String _searchingText;
+        private final boolean _caseSensitive;
+        private final boolean _reverse;
+        private final int _startIndex;
+        private final int _count;
+        private final int _total;
+        private final SearchCallback _callback;
+
+        private int _position;
+        private int _matchCount;
+
+        // the chunk being matched
+        private int _chunkStart;
+        private String[] _texts;
+
+        BackgroundSearch(int generation, String searchingText, boolean caseSensitive, int startIndex, int count, boolean wrap, SearchCallback callback) {
+            _generation = generation;
+            _searchingText = searchingText;
+            _caseSensitive = caseSensitive;
+            _reverse = isReverseOrder();
+            _startIndex = startIndex;
+            _count = count;
+            _total = wrap ? count : (_reverse ? startIndex + 1 : count - startIndex);
+            _callback = callback;
+        }
+
+        private int getIndexAt(int position) {
+            int index = _reverse ? _startIndex - position : _startIndex + position;
+            return (index + _count) % _count;
+        }
+
+        /**
+         * Converts the next chunk of elements to strings and hands it to the executor. Called on the event dispatch
+         * thread.
+         */
+        void searchNextChunk() {
+            if (_generation != _searchGeneration) {
+                return;
+            }
+            if (_position >= _total) {
+                _callback.searchFinished(_matchCount);
+                return;
+            }
+            // the elements may have been removed since the search started
+            int elementCount = getElementCount();
+            int size = Math.min(SEARCH_CHUNK_SIZE, _total - _position);
+            String[] texts = new String[size];
+            for (int i = 0; i < size; i++) {
+                int index = getIndexAt(_position + i);
+                if (index < elementCount) {
+                    Object element = getElementAt(index);
+                    texts[i] = isElementStringCached() ? getElementString(element) : convertElementToString(element);
+                }
+            }
+            _chunkStart = _position;
+            _texts = texts;
+            _position += size;
+            getSearchExecutor().execute(this);
+        }
+
+        /**
+         * Matches the current chunk. Called on the executor.
+         */
+        public void run() {
+            if (_generation != _searchGeneration) {
+                return;
+            }
+            String[] texts = _texts;
+            final int[] matches = new int[texts.length];
+            int matchCount = 0;
+            for (int i = 0; i < texts.length; i++) {
+                String text = texts[i];
+                if (text != null && compare(_caseSensitive ? text : text.toLowerCase(), _searchingText)) {
+                    matches[matchCount++] = i;
+                }
+            }
+            final int length = matchCount;
+            SwingUtilities.invokeLater(new Runnable() {
+                public void run() {
+                    deliver(matches, length);
+                }
+            });
+        }
+
+        /**
+         * Passes the matches of the current chunk to the callback and continues with the next chunk. Called on the event
+         * dispatch thread.
+         */
+        private void deliver(int[] matches, int length) {
+            for (int i = 0; i < length; i++) {
+                if (_generation != _searchGeneration) {
+                    return;
+                }
+                int index = getIndexAt(_chunkStart + matches[i]);
+                if (index >= getElementCount()) {
+                    continue;
+                }
+                _matchCount++;
+                if (!_callback.matchFound(index)) {
+                    if (_generation == _searchGeneration) {
+                        chunkSearched();
+                        // chunkSearched may have started a new search
+                        if (_generation == _searchGeneration) {
+                            _callback.searchFinished(_matchCount);
+                        }
+                    }
+                    return;
+                }
+            }
+            if (_generation != _searchGeneration) {
+                return;
+            }
+            chunkSearched();
+            searchNextChunk();
+        }
+
+        private void chunkSearched() {
+            if (_callback instanceof ChunkSearchCallback) {
+                ((ChunkSearchCallback) _callback).chunkSearched();
+            }
+        }
+    }
+
     /**
      * This method is called when a key is typed or pressed.
      *
@@ -1333,6 +1867,7 @@ public abstract class Searchable {
      */
     public void setCaseSensitive(boolean caseSensitive) {
         _caseSensitive = caseSensitive;
+        clearElementStringCache();
     }
 
     /**
@@ -1605,7 +2140,29 @@ public abstract class Searchable {
             }
         }
 
-        private void selectAll(KeyEvent e, String text) {
+        private void selectAll(final KeyEvent e, final String text) {
+            if (isBackgroundSearch()) {
+                findInBackground(text, 0, true, new SearchCallback() {
+                    private boolean _first = true;
+
+                    public boolean matchFound(int index) {
+                        if (_first) {
+                            _first = false;
+                            setSelectedIndex(index, false); // clear side effect of ctrl-a will select all items
+                            Searchable.this.setCursor(index); // as setSelectedIndex is used directly, we have to manually set the cursor value.
+                        }
+                        else {
+                            select(index, e, text);
+                        }
+                        return true;
+                    }
+
+                    public void searchFinished(int matchCount) {
+                    }
+                });
+                return;
+            }
+
             boolean oldReverseOrder = isReverseOrder(); // keep the old reverse order and we will set it back.
             if (oldReverseOrder) {
                 setReverseOrder(false);
@@ -1623,18 +2180,18 @@ public abstract class Searchable {
                 setRepeats(false);
             }
 
-            while (index != -1) {
-                int newIndex = findNext(text);
-                if (index == newIndex) {
-                    index = -1;
-                }
-                else {
-                    index = newIndex;
-                }
-                if (index == -1) {
-                    break;
+            if (index != -1) {
+                BitSet matches = findAll(text);
+                matches.clear(0, index + 1);
+                int lastIndex = matches.length() - 1;
+                if (lastIndex != -1) {
+                    matches.clear(lastIndex);
+                    if (e != null && isIncrementalSelectKey(e)) {
+                        adjustSelectedIndices(matches, true);
+                        addToCursorSelection(matches);
+                    }
+                    select(lastIndex, e, text);
                 }
-                select(index, e, text);
             }
 
             if (oldRepeats) {
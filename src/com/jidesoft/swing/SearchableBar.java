@@ -15,6 +15,7 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.BitSet;
 import java.util.Locale;
 
 /**
@@ -511,8 +512,9 @@ public class SearchableBar extends JToolBar implements SearchableProvider {
     }
 
     private void highlighAll() {
-        String text = getSearchingText();
+        final String text = getSearchingText();
         if (text == null || text.length() == 0) {
+            _searchable.cancelBackgroundSearch();
             _findNextButton.setEnabled(false);
             _findPrevButton.setEnabled(false);
             _highlightsButton.setEnabled(false);
@@ -520,6 +522,45 @@ public class SearchableBar extends JToolBar implements SearchableProvider {
             clearStatus();
             return;
         }
+        if (_searchable.isBackgroundSearch()) {
+            _searchable.findInBackground(text, 0, true, new Searchable.ChunkSearchCallback() {
+                private boolean _first = true;
+                private BitSet _matches = new BitSet();
+
+                public boolean matchFound(int index) {
+                    if (_first) {
+                        _first = false;
+                        _searchable.setSelectedIndex(index, false); // clear side effect of ctrl-a will select all items
+                        _searchable.setCursor(index); // as setSelectedIndex is used directly, we have to manually set the cursor value.
+                        _findNextButton.setEnabled(true);
+                        _findPrevButton.setEnabled(true);
+                        _highlightsButton.setEnabled(true);
+                        clearStatus();
+                    }
+                    else {
+                        _matches.set(index);
+                    }
+                    return true;
+                }
+
+                public void chunkSearched() {
+                    // the matches of a chunk are selected at once, the same as Searchable.highlightAll does
+                    if (!_matches.isEmpty()) {
+                        _searchable.adjustSelectedIndices(_matches, true);
+                        _searchable.addToCursorSelection(_matches);
+                        _matches = new BitSet();
+                    }
+                }
+
+                public void searchFinished(int matchCount) {
+                    if (matchCount == 0) {
+                        notFound(text);
+                    }
+                    _searchable.setCursor(0);
+                }
+            });
+            return;
+        }
         boolean old = _searchable.isRepeats();
         _searchable.setRepeats(false);
         int index = _searchable.findFirst(text);
@@ -532,11 +573,7 @@ public class SearchableBar extends JToolBar implements SearchableProvider {
             clearStatus();
         }
         else {
-            select(-1, text, false);
-            _findNextButton.setEnabled(false);
-            _findPrevButton.setEnabled(false);
-            _highlightsButton.setEnabled(false);
-            setStatus(getResourceString("SearchableBar.notFound"), getImageIcon(SearchableBarIconsFactory.Buttons.ERROR));
+            notFound(text);
         }
 
         _searchable.highlightAll();
@@ -544,10 +581,27 @@ public class SearchableBar extends JToolBar implements SearchableProvider {
         _searchable.setCursor(0);
     }
 
+    private void notFound(String text) {
+        select(-1, text, false);
+        _findNextButton.setEnabled(false);
+        _findPrevButton.setEnabled(false);
+        _highlightsButton.setEnabled(false);
+        setStatus(getResourceString("SearchableBar.notFound"), getImageIcon(SearchableBarIconsFactory.Buttons.ERROR));
+    }
+
+    private void found(int index, String text) {
+        select(index, text, false);
+        _findNextButton.setEnabled(true);
+        _findPrevButton.setEnabled(true);
+        _highlightsButton.setEnabled(true);
+        clearStatus();
+    }
+
     private void highlightNext() {
         _searchable.cancelHighlightAll();
-        String text = getSearchingText();
+        final String text = getSearchingText();
         if (text == null || text.length() == 0) {
+            _searchable.cancelBackgroundSearch();
             _findNextButton.setEnabled(false);
             _findPrevButton.setEnabled(false);
             _highlightsButton.setEnabled(false);
@@ -555,20 +609,27 @@ public class SearchableBar extends JToolBar implements SearchableProvider {
             clearStatus();
             return;
         }
+        if (_searchable.isBackgroundSearch()) {
+            _searchable.findInBackground(text, _searchable.getCurrentIndex(), true, new Searchable.SearchCallback() {
+                public boolean matchFound(int index) {
+                    found(index, text);
+                    return false;
+                }
+
+                public void searchFinished(int matchCount) {
+                    if (matchCount == 0) {
+                        notFound("");
+                    }
+                }
+            });
+            return;
+        }
         int found = _searchable.findFromCursor(text);
         if (found == -1) {
-            select(-1, "", false);
-            _findNextButton.setEnabled(false);
-            _findPrevButton.setEnabled(false);
-            _highlightsButton.setEnabled(false);
-            setStatus(getResourceString("SearchableBar.notFound"), getImageIcon(SearchableBarIconsFactory.Buttons.ERROR));
+            notFound("");
         }
         else {
-            select(found, text, false);
-            _findNextButton.setEnabled(true);
-            _findPrevButton.setEnabled(true);
-            _highlightsButton.setEnabled(true);
-            clearStatus();
+            found(found, text);
         }
     }
 
@@ -11,7 +11,10 @@ import java.awt.*;
 import java.awt.image.*;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * <p>A shadow factory generates a drop shadow for any given picture, respecting the transparency channel if present.
@@ -54,7 +57,11 @@ import java.util.HashMap;
  * <h2>Properties Changes</h2> <p>This factory allows to register property change listeners with {@link
  * #addPropertyChangeListener}. Listening to properties changes is very useful when you embed the factory in a graphical
  * component and give the API user the ability to access the factory. By listening to properties changes, you can easily
- * repaint the component when needed.</p> <h2>Threading Issues</h2> <p><code>ShadowFactory</code> is not guaranteed to
+ * repaint the component when needed.</p> <h2>Rectangle Shadows</h2> <p>The shadows of opaque rectangles, such as the
+ * ones of popups and panels, are cached and shared. {@link #createRectangleShadow(int, int)} returns the cached shadow
+ * of a given size and {@link #paintRectangleShadow(java.awt.Graphics, int, int, int, int)} paints the shadow of a
+ * rectangle of any size from nine slices of one small cached shadow, so no image is created or blurred when the same
+ * kind of shadow is painted again.</p> <h2>Threading Issues</h2> <p><code>ShadowFactory</code> is not guaranteed to
  * be thread-safe.</p>
  *
  * @author Romain Guy <romain.guy@mac.com>
@@ -111,6 +118,19 @@ public class ShadowFactory {
     // notifies listeners of properties changes
     private PropertyChangeSupport changeSupport;
 
+    // the maximum number of cached rectangle shadows
+    private static final int MAXIMUM_CACHED_SHADOWS = 32;
+
+    // the rectangle shadows and the slices of them, shared by all factories
+    private static final Map<ShadowKey, Object> SHADOW_CACHE = Collections.synchronizedMap(new LinkedHashMap<ShadowKey, Object>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2367186372364187426L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ShadowKey, Object> eldest) {
+            return size() > MAXIMUM_CACHED_SHADOWS;
+        }
+    });
+
     /**
      * <p>Creates a default good looking shadow generator. The default shadow factory provides the following default
      * values: <ul> <li><i>size</i>: 5 pixels</li> <li><i>opacity</i>: 50%</li> <li><i>color</i>: Black</li>
@@ -302,6 +322,154 @@ public class ShadowFactory {
         return createShadowFast(image);
     }
 
+    /**
+     * <p>Gets the shadow of an opaque rectangle using the current properties of the factory. The shadow is the same as
+     * the one {@link #createShadow} generates for an opaque image of the same size, but it is cached and shared by all
+     * factories, so the returned image must not be modified.</p>
+     *
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     * @return the picture containing the shadow of the rectangle
+     */
+    public BufferedImage createRectangleShadow(int width, int height) {
+        if (width <= 0 || height <= 0 || size <= 0 || hints.get(KEY_BLUR_QUALITY) == VALUE_BLUR_QUALITY_HIGH) {
+            return createShadow(createRectangle(Math.max(width, 1), Math.max(height, 1)));
+        }
+        ShadowKey key = new ShadowKey(size, opacity, color, width, height, false);
+        BufferedImage shadow = (BufferedImage) SHADOW_CACHE.get(key);
+        if (shadow == null) {
+            shadow = createShadowFast(createRectangle(width, height));
+            SHADOW_CACHE.put(key, shadow);
+        }
+        return shadow;
+    }
+
+    /**
+     * <p>Paints the shadow of an opaque rectangle using the current properties of the factory. It paints the same
+     * picture as {@link #createRectangleShadow(int, int)} at the given location, but the shadow of a large rectangle is
+     * painted from the nine slices of the cached shadow of a small rectangle, the corners as they are and the edges and
+     * the center stretched, so the shadow of a rectangle of any size is painted without creating any image.</p>
+     *
+     * @param g      the graphics to paint on
+     * @param x      the x coordinate of the shadow
+     * @param y      the y coordinate of the shadow
+     * @param width  the width of the rectangle
+     * @param height the height of the rectangle
+     */
+    public void paintRectangleShadow(Graphics g, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int minimumSize = size * 2 + 1;
+        if (width < minimumSize || height < minimumSize || hints.get(KEY_BLUR_QUALITY) == VALUE_BLUR_QUALITY_HIGH) {
+            g.drawImage(createRectangleShadow(width, height), x, y, null);
+            return;
+        }
+
+        ShadowKey key = new ShadowKey(size, opacity, color, minimumSize, minimumSize, true);
+        BufferedImage[] slices = (BufferedImage[]) SHADOW_CACHE.get(key);
+        if (slices == null) {
+            slices = createSlices(createShadowFast(createRectangle(minimumSize, minimumSize)));
+            SHADOW_CACHE.put(key, slices);
+        }
+
+        int corner = slices[0].getWidth();
+        int far = slices[8].getWidth();
+        int shadowWidth = width + size;
+        int shadowHeight = height + size;
+        int centerWidth = shadowWidth - corner - far;
+        int centerHeight = shadowHeight - corner - far;
+        int x1 = x + corner;
+        int x2 = x1 + centerWidth;
+        int y1 = y + corner;
+        int y2 = y1 + centerHeight;
+        g.drawImage(slices[0], x, y, null);
+        g.drawImage(slices[1], x1, y, centerWidth, corner, null);
+        g.drawImage(slices[2], x2, y, null);
+        g.drawImage(slices[3], x, y1, corner, centerHeight, null);
+        g.drawImage(slices[4], x1, y1, centerWidth, centerHeight, null);
+        g.drawImage(slices[5], x2, y1, far, centerHeight, null);
+        g.drawImage(slices[6], x, y2, null);
+        g.drawImage(slices[7], x1, y2, centerWidth, far, null);
+        g.drawImage(slices[8], x2, y2, null);
+    }
+
+    /**
+     * Removes all cached rectangle shadows.
+     */
+    public static void clearShadowCache() {
+        SHADOW_CACHE.clear();
+    }
+
+    private static BufferedImage createRectangle(int width, int height) {
+        BufferedImage rectangle = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = rectangle.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, width, height);
+        g2.dispose();
+        return rectangle;
+    }
+
+    // cuts the shadow of a square into nine slices at its middle row and column, where the shadow is uniform. The
+    // slices are in the order of top-left, top, top-right, left, center, right, bottom-left, bottom, bottom-right.
+    private static BufferedImage[] createSlices(BufferedImage shadow) {
+        int middle = shadow.getWidth() / 2;
+        int far = shadow.getWidth() - middle - 1;
+        int[] offsets = {0, middle, middle + 1};
+        int[] lengths = {middle, 1, far};
+        BufferedImage[] slices = new BufferedImage[9];
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                BufferedImage slice = new BufferedImage(lengths[column], lengths[row], BufferedImage.TYPE_INT_ARGB);
+                shadow.getSubimage(offsets[column], offsets[row], lengths[column], lengths[row]).copyData(slice.getRaster());
+                slices[row * 3 + column] = slice;
+            }
+        }
+        return slices;
+    }
+
+    private static class ShadowKey {
+        private final int _size;
+        private final int _opacity;
+        private final int _rgb;
+        private final int _width;
+        private final int _height;
+        private final boolean _sliced;
+
+        ShadowKey(int size, float opacity, Color color, int width, int height, boolean sliced) {
+            _size = size;
+            _opacity = Float.floatToIntBits(opacity);
+            _rgb = color.getRGB();
+            _width = width;
+            _height = height;
+            _sliced = sliced;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShadowKey)) {
+                return false;
+            }
+            ShadowKey key = (ShadowKey) o;
+            return _size == key._size && _opacity == key._opacity && _rgb == key._rgb
+                    && _width == key._width && _height == key._height && _sliced == key._sliced;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = _size;
+            result = 31 * result + _opacity;
+            result = 31 * result + _rgb;
+            result = 31 * result + _width;
+            result = 31 * result + _height;
+            result = 31 * result + (_sliced ? 1 : 0);
+            return result;
+        }
+    }
+
     // prepares the picture for the high quality rendering algorithm
     private BufferedImage prepareImage(final BufferedImage image) {
         BufferedImage subject = new BufferedImage(image.getWidth() + size * 2,
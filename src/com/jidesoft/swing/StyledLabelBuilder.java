@@ -94,6 +94,11 @@ import java.util.List;
  * styles</b> <ul> <li>strike or s <li>doublestrike or ds <li>waved or w <li>underlined or u <li>dotted or d
  * <li>superscript or sp <li>subscript or sb </ul>
  * <p/>
+ * The parsed annotated strings and style annotations are kept in a bounded cache, so setting the same annotated string
+ * again only copies the cached text and StyleRanges. Annotations that refer to the styles registered in a builder are
+ * never cached. If you change the map returned by {@link #getColorNamesMap()} after annotations were parsed, please
+ * call {@link #clearCache()}.
+ * <p/>
  *
  * @author Patrick Gotthardt
  */
@@ -162,7 +167,7 @@ public class StyledLabelBuilder {
     }
 
     public StyledLabelBuilder register(String text, String format) {
-        ParsedStyleResult result = parseStyleAnnotation(format.toCharArray(), 0, this);
+        ParsedStyleResult result = parseStyleAnnotation(format, this);
         styles.put(text, new StyleRange(result.fontStyle, result.fontColor, result.backgroundColor,
                 result.additionalStyle, result.lineColor));
         return this;
@@ -220,7 +225,7 @@ public class StyledLabelBuilder {
         StyleRange range = (StyleRange) styles.get(style);
         // not a stored style, thus it might be an annotation
         if (range == null) {
-            ParsedStyleResult result = parseStyleAnnotation(style.toCharArray(), 0, this);
+            ParsedStyleResult result = parseStyleAnnotation(style, this);
             return add(text, result.fontStyle, result.fontColor, result.backgroundColor, result.additionalStyle, result.lineColor);
         }
         return add(text, range.getFontStyle(), range.getFontColor(), range.getAdditionalStyle(), range.getLineColor(), range.getLineStroke(), range.getFontShrinkRatio());
@@ -269,11 +274,19 @@ public class StyledLabelBuilder {
      * @param text  the styled text
      */
     public static void setStyledText(StyledLabel label, String text) {
-        setStyledText(label, text.toCharArray());
+        setStyledText(label, text, null);
     }
 
     private static void setStyledText(StyledLabel label, String text, StyledLabelBuilder builder) {
-        setStyledText(label, text.toCharArray(), builder);
+        ParsedStyledText parsed = STYLED_TEXT_CACHE.get(text);
+        if (parsed == null) {
+            parsed = parseStyledText(text.toCharArray(), builder);
+            if (parsed.cacheable) {
+                STYLED_TEXT_CACHE.put(text, parsed);
+            }
+        }
+        label.setStyleRanges(parsed.styleRanges.clone());
+        label.setText(parsed.text);
     }
 
     /**
@@ -284,13 +297,14 @@ public class StyledLabelBuilder {
      * @param text  the styled text
      */
     public static void setStyledText(StyledLabel label, char[] text) {
-        setStyledText(label, text, null);
+        setStyledText(label, new String(text), null);
     }
 
-    private static void setStyledText(StyledLabel label, char[] text, StyledLabelBuilder builder) {
+    private static ParsedStyledText parseStyledText(char[] text, StyledLabelBuilder builder) {
         StringBuffer labelText = new StringBuffer(text.length);
+        List<StyleRange> styleRanges = new ArrayList<StyleRange>();
+        boolean cacheable = true;
         boolean escaped = false;
-        label.clearStyleRanges();
         for (int i = 0; i < text.length; i++) {
             if (escaped) {
                 labelText.append(text[i]);
@@ -303,11 +317,12 @@ public class StyledLabelBuilder {
                     int realIndex = labelText.length();
                     labelText.append(result.text);
                     if (result.text.length() > 0) {
-                        label.addStyleRange(new StyleRange(
+                        styleRanges.add(new StyleRange(
                                 realIndex, result.text.length(),
                                 result.fontStyle, result.fontColor, result.backgroundColor,
                                 result.additionalStyle, result.lineColor));
                     }
+                    cacheable &= result.cacheable;
                     i = result.endOffset;
                     break;
                 case '\\':
@@ -318,7 +333,15 @@ public class StyledLabelBuilder {
                     break;
             }
         }
-        label.setText(labelText.toString());
+        return new ParsedStyledText(labelText.toString(), styleRanges.toArray(new StyleRange[styleRanges.size()]), cacheable);
+    }
+
+    /**
+     * Clears the cache of the parsed annotated strings and style annotations.
+     */
+    public static void clearCache() {
+        STYLED_TEXT_CACHE.clear();
+        STYLE_ANNOTATION_CACHE.clear();
     }
 
     /**
@@ -343,6 +366,17 @@ public class StyledLabelBuilder {
         return parseStyleAnnotation(text, findIndex + 1, builder, result);
     }
 
+    private static ParsedStyleResult parseStyleAnnotation(String style, StyledLabelBuilder builder) {
+        ParsedStyleResult result = STYLE_ANNOTATION_CACHE.get(style);
+        if (result == null) {
+            result = parseStyleAnnotation(style.toCharArray(), 0, builder);
+            if (result.cacheable) {
+                STYLE_ANNOTATION_CACHE.put(style, result);
+            }
+        }
+        return result;
+    }
+
     private static ParsedStyleResult parseStyleAnnotation(char[] text, int start, StyledLabelBuilder builder) {
         ParsedStyleResult result = new ParsedStyleResult();
         return parseStyleAnnotation(text, start, builder, result);
@@ -433,6 +467,8 @@ public class StyledLabelBuilder {
                     result.additionalStyle |= StyleRange.STYLE_SUBSCRIPT;
                 }
                 else if (builder != null && builder.styles.containsKey(style)) {
+                    // the result depends on the builder so it can't be cached
+                    result.cacheable = false;
                     StyleRange range = (StyleRange) builder.styles.get(style);
                     result.fontStyle = range.getFontStyle();
                     result.fontColor = range.getFontColor();
@@ -441,6 +477,7 @@ public class StyledLabelBuilder {
                     result.lineColor = range.getLineColor();
                 }
                 else if (style.length() > 0) {
+                    result.cacheable = false;
                     System.err.println("Unknown style '" + style + "'");
                 }
             }
@@ -618,5 +655,35 @@ public class StyledLabelBuilder {
         int fontStyle = Font.PLAIN;
         Color fontColor = null, lineColor = null, backgroundColor = null;
         int additionalStyle = 0;
+        boolean cacheable = true;
+    }
+
+    private static class ParsedStyledText {
+        final String text;
+        final StyleRange[] styleRanges;
+        final boolean cacheable;
+
+        ParsedStyledText(String text, StyleRange[] styleRanges, boolean cacheable) {
+            this.text = text;
+            this.styleRanges = styleRanges;
+            this.cacheable = cacheable;
+        }
+    }
+
+    private static final int STYLED_TEXT_CACHE_SIZE = 1024;
+    private static final int STYLE_ANNOTATION_CACHE_SIZE = 256;
+
+    private static final Map<String, ParsedStyledText> STYLED_TEXT_CACHE = createCache(STYLED_TEXT_CACHE_SIZE);
+    private static final Map<String, ParsedStyleResult> STYLE_ANNOTATION_CACHE = createCache(STYLE_ANNOTATION_CACHE_SIZE);
+
+    private static <V> Map<String, V> createCache(final int maximumSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2408526245353573307L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maximumSize;
+            }
+        });
     }
 }
@@ -6,6 +6,7 @@
 package com.jidesoft.swing;
 
 import com.jidesoft.swing.event.SearchableEvent;
+import com.jidesoft.utils.SystemInfo;
 
 import javax.swing.*;
 import javax.swing.event.TableModelEvent;
@@ -14,6 +15,7 @@ import javax.swing.table.TableModel;
 import java.awt.event.KeyEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.BitSet;
 
 /**
  * <code>TableSearchable</code> is an concrete implementation of {@link Searchable} that enables the search function in
@@ -54,6 +56,7 @@ import java.beans.PropertyChangeListener;
 public class TableSearchable extends Searchable implements TableModelListener, PropertyChangeListener {
 
     private int[] _searchColumnIndices = {0};
+    private boolean _modelSearchEnabled = false;
 
     public TableSearchable(JTable table) {
         super(table);
@@ -102,6 +105,73 @@ public class TableSearchable extends Searchable implements TableModelListener, P
         }
     }
 
+    @Override
+    protected void setSelectedIndices(BitSet indices, boolean incremental) {
+        JTable table = ((JTable) _component);
+        BitSet rows, columns;
+        if (isColumnSelectionAllowed(table)) {
+            rows = new BitSet();
+            if (!indices.isEmpty()) {
+                rows.set(getMainIndex());
+            }
+            columns = indices;
+        }
+        else if (isRowSelectionAllowed(table)) {
+            rows = indices;
+            columns = new BitSet();
+            if (!indices.isEmpty()) {
+                columns.set(table.convertColumnIndexToView(getMainIndex()));
+            }
+        }
+        else { // cell selection allowed
+            int columnCount = table.getColumnCount();
+            if (columnCount == 0) {
+                return;
+            }
+            rows = new BitSet();
+            columns = new BitSet();
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                rows.set(i / columnCount);
+                columns.set(i % columnCount);
+            }
+        }
+        addTableSelection(table, rows, columns, incremental);
+    }
+
+    /**
+     * Selects the rows and the columns in one batch. It is the same as calling {@link #addTableSelection(JTable, int,
+     * int, boolean)} for each row and column pair but the selection models are only adjusted once.
+     *
+     * @param table       the table
+     * @param rows        the row indices
+     * @param columns     the column indices
+     * @param incremental false to clear all previous selection. True to keep the previous selection.
+     */
+    protected void addTableSelection(JTable table, BitSet rows, BitSet columns, boolean incremental) {
+        if (!incremental)
+            table.clearSelection();
+        ListSelectionModel rowModel = table.getSelectionModel();
+        ListSelectionModel columnModel = table.getColumnModel().getSelectionModel();
+        rowModel.setValueIsAdjusting(true);
+        columnModel.setValueIsAdjusting(true);
+        try {
+            addSelectionIntervals(rowModel, rows, table.getRowCount());
+            addSelectionIntervals(columnModel, columns, table.getColumnCount());
+        }
+        finally {
+            rowModel.setValueIsAdjusting(false);
+            columnModel.setValueIsAdjusting(false);
+        }
+    }
+
+    private static void addSelectionIntervals(ListSelectionModel selectionModel, BitSet indices, int count) {
+        for (int start = indices.nextSetBit(0); start >= 0 && start < count; ) {
+            int end = Math.min(indices.nextClearBit(start), count);
+            selectionModel.addSelectionInterval(start, end - 1);
+            start = indices.nextSetBit(end);
+        }
+    }
+
     /**
      * Selects the cell at the specified row and column index. If incremental is true, the previous selection will not
      * be cleared. This method will use {@link JTable#changeSelection(int,int,boolean,boolean)} method to select the
@@ -302,6 +372,86 @@ public class TableSearchable extends Searchable implements TableModelListener, P
         }
     }
 
+    /**
+     * Checks if {@link #findAll(String)} searches the TableModel directly. See {@link #setModelSearchEnabled(boolean)}
+     * for details.
+     *
+     * @return true if the TableModel is searched directly. Otherwise false.
+     */
+    public boolean isModelSearchEnabled() {
+        return _modelSearchEnabled;
+    }
+
+    /**
+     * Sets the flag if {@link #findAll(String)}, which is used to highlight all matches, should search the TableModel
+     * directly. If true, it goes through the model rows and gets the values of the search columns only from the
+     * TableModel. Only the matching cells are converted to view indices. Otherwise, it goes through every element, which
+     * is every cell of the table in the cell selection mode, and gets the values using {@link #getValueAt(JTable, int,
+     * int)}. You shouldn't set it to true if you override {@link #getValueAt(JTable, int, int)}. It has no effect in
+     * the column selection mode. Default is false.
+     *
+     * @param modelSearchEnabled true to search the TableModel directly.
+     */
+    public void setModelSearchEnabled(boolean modelSearchEnabled) {
+        _modelSearchEnabled = modelSearchEnabled;
+    }
+
+    @Override
+    public BitSet findAll(String s) {
+        JTable table = (JTable) _component;
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        if (!isModelSearchEnabled() || isColumnSelectionAllowed(table) || str.trim().length() == 0) {
+            return super.findAll(s);
+        }
+
+        // the model columns to be searched and the view columns showing them
+        int columnCount = table.getColumnCount();
+        int[] modelColumns = new int[columnCount];
+        int[] viewColumns = new int[columnCount];
+        int searchColumnCount = 0;
+        boolean rowSelection = isRowSelectionAllowed(table);
+        for (int viewColumn = 0; viewColumn < columnCount; viewColumn++) {
+            int modelColumn = table.convertColumnIndexToModel(viewColumn);
+            if (rowSelection ? modelColumn == getMainIndex() : !isSearchSelectedRows() || isSearchColumn(modelColumn)) {
+                modelColumns[searchColumnCount] = modelColumn;
+                viewColumns[searchColumnCount] = viewColumn;
+                searchColumnCount++;
+            }
+        }
+
+        BitSet matches = new BitSet();
+        TableModel model = table.getModel();
+        int rowCount = model.getRowCount();
+        for (int row = 0; row < rowCount; row++) {
+            for (int i = 0; i < searchColumnCount; i++) {
+                if (compare(model.getValueAt(row, modelColumns[i]), str)) {
+                    int viewRow = convertRowIndexToView(table, row);
+                    if (viewRow != -1) {
+                        matches.set(rowSelection ? viewRow : viewRow * columnCount + viewColumns[i]);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean isSearchColumn(int modelColumn) {
+        for (int i : getSearchColumnIndices()) {
+            if (i == modelColumn) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int convertRowIndexToView(JTable table, int row) {
+        if (SystemInfo.isJdk6Above()) {
+            int viewRow = table.convertRowIndexToView(row);
+            return viewRow < table.getRowCount() ? viewRow : -1;
+        }
+        return row;
+    }
+
     @Override
     protected boolean isFindNextKey(KeyEvent e) {
         int keyCode = e.getKeyCode();
@@ -333,6 +483,7 @@ public class TableSearchable extends Searchable implements TableModelListener, P
     }
 
     public void tableChanged(TableModelEvent e) {
+        clearElementStringCache();
         if (isProcessModelChangeEvent()) {
             hidePopup();
             fireSearchableEvent(new SearchableEvent(this, SearchableEvent.SEARCHABLE_MODEL_CHANGE));
@@ -342,6 +493,7 @@ public class TableSearchable extends Searchable implements TableModelListener, P
     public void propertyChange(PropertyChangeEvent evt) {
         if ("model".equals(evt.getPropertyName())) {
             hidePopup();
+            clearElementStringCache();
 
             if (evt.getOldValue() instanceof TableModel) {
                 ((TableModel) evt.getOldValue()).removeTableModelListener(this);
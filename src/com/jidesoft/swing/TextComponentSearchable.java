@@ -8,6 +8,8 @@ package com.jidesoft.swing;
 import com.jidesoft.swing.event.SearchableEvent;
 
 import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.*;
@@ -16,8 +18,14 @@ import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * <code>TextComponentSearchable</code> is an concrete implementation of {@link Searchable} that enables the search
@@ -54,6 +62,14 @@ import java.util.Iterator;
  * Searchables. The other difference is JTextComponent will keep the highlights after search popup hides. If you want to
  * hide the highlights, just press ESC again (the first ESC will hide popup; the second ESC will hide all highlights if
  * any).
+ * <p/>
+ * By default, the text of the Document is copied into a String for the searching and the copy is discarded whenever the
+ * Document changes. For a huge Document that changes frequently, such as a log viewer, you can call {@link
+ * #setSegmentSearchEnabled(boolean)} to search the segments of the Document directly instead. In either case, if all
+ * occurrences are highlighted, the highlights are updated around the changed text only when the Document changes.
+ * <p/>
+ * If a search could have a huge number of occurrences, you can call {@link #setLazyHighlightEnabled(boolean)} so that
+ * highlighting all only keeps the offsets of the occurrences and highlights the visible ones.
  */
 public class TextComponentSearchable extends Searchable implements DocumentListener, PropertyChangeListener {
     private Highlighter.HighlightPainter _highlightPainter;
@@ -61,6 +77,18 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     private Color _highlightColor = null;
     private int _selectedIndex = -1;
     private HighlighCache _highlighCache;
+    private boolean _segmentSearchEnabled = false;
+    private String _highlightAllText;
+    private TextPattern _textPattern;
+    private boolean _lazyHighlightEnabled = false;
+    private int[] _matchOffsets; // the sorted offsets of all occurrences in the lazy highlight mode
+    private int _matchCount;
+    private int _matchLength;
+    private List<Object> _visibleHighlights = new ArrayList<Object>();
+    private int _visibleStart = -1;
+    private int _visibleEnd = -1;
+    private JViewport _viewport;
+    private ChangeListener _viewportListener;
 
     public TextComponentSearchable(JTextComponent textComponent) {
         super(textComponent);
@@ -104,6 +132,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
             ((JTextComponent) _component).getDocument().removeDocumentListener(this);
             _component.removePropertyChangeListener("document", this);
         }
+        uninstallViewportListener();
     }
 
     @Override
@@ -120,6 +149,10 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
             }
 
             String text = getSearchingText();
+            if (incremental && (isLazilyHighlighted(index, text.length()) || getHighlightedIndices(text.length()).contains(index))) {
+                _selectedIndex = index;
+                return;
+            }
             try {
                 addHighlight(index, text, incremental);
             }
@@ -129,6 +162,54 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
         }
     }
 
+    @Override
+    protected void setSelectedIndices(BitSet indices, boolean incremental) {
+        if (_component instanceof JTextComponent) {
+            if (!incremental) {
+                removeAllHighlights();
+            }
+
+            String text = getSearchingText();
+            if (isLazyHighlightEnabled()) {
+                setMatchOffsets(indices, text.length());
+                return;
+            }
+
+            Set<Integer> highlighted = getHighlightedIndices(text.length());
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                if (!highlighted.contains(i)) {
+                    try {
+                        addHighlight(i, text, true);
+                    }
+                    catch (BadLocationException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the start offsets of the highlights of the specified length.
+     *
+     * @param length the length of the highlights
+     * @return the start offsets.
+     */
+    private Set<Integer> getHighlightedIndices(int length) {
+        Set<Integer> indices = new HashSet<Integer>();
+        Iterator itor = _highlighCache.getAllHighlights();
+        while (itor.hasNext()) {
+            Object o = itor.next();
+            if (o instanceof Highlighter.Highlight) {
+                Highlighter.Highlight highlight = (Highlighter.Highlight) o;
+                if (highlight.getEndOffset() - highlight.getStartOffset() == length) {
+                    indices.add(highlight.getStartOffset());
+                }
+            }
+        }
+        return indices;
+    }
+
     /**
      * Adds highlight to text component at specified index and text.
      *
@@ -187,6 +268,8 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
      * Removes all highlights from the text component.
      */
     protected void removeAllHighlights() {
+        _highlightAllText = null;
+        removeMatchOffsets();
         if (_component instanceof JTextComponent) {
             Iterator itor = _highlighCache.getAllHighlights();
             while (itor.hasNext()) {
@@ -266,6 +349,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     }
 
     public void insertUpdate(DocumentEvent e) {
+        updateHighlights(e.getOffset(), e.getLength(), 0);
         if (isProcessModelChangeEvent()) {
             hidePopup();
             _text = null;
@@ -274,6 +358,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     }
 
     public void removeUpdate(DocumentEvent e) {
+        updateHighlights(e.getOffset(), 0, e.getLength());
         if (isProcessModelChangeEvent()) {
             hidePopup();
             _text = null;
@@ -323,150 +408,432 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
         _highlightPainter = new DefaultHighlighter.DefaultHighlightPainter(_highlightColor);
     }
 
+    /**
+     * Checks if the segments of the Document are searched directly. See {@link #setSegmentSearchEnabled(boolean)} for
+     * details.
+     *
+     * @return true if the segments of the Document are searched directly. Otherwise false.
+     */
+    public boolean isSegmentSearchEnabled() {
+        return _segmentSearchEnabled;
+    }
+
+    /**
+     * Sets the flag if the segments of the Document should be searched directly. If false, the whole text of the
+     * Document is copied into a String which is kept until the Document changes. If true, the text is read in segments
+     * using {@link Document#getText(int, int, javax.swing.text.Segment)} with partial return enabled so the Document
+     * is never copied. You may want to set it to true if the Document is huge and changes frequently. Default is
+     * false.
+     *
+     * @param segmentSearchEnabled true to search the segments of the Document directly.
+     */
+    public void setSegmentSearchEnabled(boolean segmentSearchEnabled) {
+        _segmentSearchEnabled = segmentSearchEnabled;
+        _text = null;
+    }
+
     @Override
-    public int findLast(String s) {
-        if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.lastIndexOf(s);
+    protected void highlightAll() {
+        super.highlightAll();
+        // remember the searching text so that the highlights can be updated when the document changes
+        _highlightAllText = getSearchingText();
+    }
+
+    @Override
+    protected void cancelHighlightAll() {
+        _highlightAllText = null;
+        super.cancelHighlightAll();
+    }
+
+    /**
+     * Updates the highlights of all occurrences after the document changed. The highlights move with the text, so only
+     * the occurrences that overlap the changed range could be gone or new.
+     *
+     * @param offset        the offset of the change
+     * @param length        the length of the inserted text. 0 if text was removed.
+     * @param removedLength the length of the removed text. 0 if text was inserted.
+     */
+    private void updateHighlights(int offset, int length, int removedLength) {
+        if (_matchOffsets != null) {
+            updateMatchOffsets(offset, length, removedLength);
+            return;
+        }
+
+        String text = _highlightAllText;
+        if (text == null || text.length() == 0 || !(_component instanceof JTextComponent)) {
+            return;
+        }
+
+        JTextComponent textComponent = (JTextComponent) _component;
+        Highlighter highlighter = textComponent.getHighlighter();
+        Document document = textComponent.getDocument();
+        int start = Math.max(0, offset - text.length() + 1);
+        int end = Math.min(document.getLength(), offset + length + text.length() - 1);
+
+        List<Object> kept = new ArrayList<Object>();
+        Iterator itor = _highlighCache.getAllHighlights();
+        while (itor.hasNext()) {
+            Object o = itor.next();
+            if (o instanceof Highlighter.Highlight) {
+                Highlighter.Highlight highlight = (Highlighter.Highlight) o;
+                int highlightStart = highlight.getStartOffset();
+                int highlightEnd = highlight.getEndOffset();
+                if (highlightStart == highlightEnd || (highlightStart < end && highlightEnd > start)) {
+                    highlighter.removeHighlight(o);
+                    itor.remove();
+                    start = Math.min(start, highlightStart);
+                }
+                else {
+                    kept.add(o);
+                }
             }
-            else {
-                return lastIndexOf(text, s, text.length());
+        }
+
+        Set<Integer> keptStarts = new HashSet<Integer>();
+        for (Object o : kept) {
+            int highlightStart = ((Highlighter.Highlight) o).getStartOffset();
+            if (highlightStart >= start && highlightStart < end) {
+                keptStarts.add(highlightStart);
             }
         }
-        else {
-            return super.findLast(s);
+
+        TextPattern pattern = getTextPattern(text);
+        DocumentText documentText = new DocumentText(document);
+        for (int i = pattern.indexOf(documentText, start, end); i != -1; i = pattern.indexOf(documentText, i + 1, end)) {
+            if (!keptStarts.contains(i)) {
+                try {
+                    _highlighCache.addHighlight(highlighter.addHighlight(i, i + text.length(), _highlightPainter));
+                }
+                catch (BadLocationException e) {
+                    // ignore
+                }
+            }
         }
     }
 
-    private String _text = null;
+    /**
+     * Checks if the lazy highlight mode is enabled. See {@link #setLazyHighlightEnabled(boolean)} for details.
+     *
+     * @return true if the lazy highlight mode is enabled. Otherwise false.
+     */
+    public boolean isLazyHighlightEnabled() {
+        return _lazyHighlightEnabled;
+    }
 
     /**
-     * Gets the text from Document.
+     * Sets the flag to enable the lazy highlight mode. By default, highlighting all occurrences adds a highlight to the
+     * Highlighter for each occurrence in the whole Document. In the lazy highlight mode, only the offsets of the
+     * occurrences are kept in a sorted int array. Only the occurrences in the visible area are highlighted, and the
+     * highlights are updated as the viewport scrolls. You may want to set it to true if a search could have hundreds of
+     * thousands of occurrences. Default is false.
      *
-     * @return the text of this JTextComponent. It used Document to get the text.
+     * @param lazyHighlightEnabled true to enable the lazy highlight mode.
      */
-    private String getDocumentText() {
-        if (_text == null) {
-            Document document = ((JTextComponent) _component).getDocument();
-            try {
-                String text = document.getText(0, document.getLength());
-                _text = text;
-            }
-            catch (BadLocationException e) {
-                return "";
-            }
+    public void setLazyHighlightEnabled(boolean lazyHighlightEnabled) {
+        if (_lazyHighlightEnabled != lazyHighlightEnabled) {
+            removeAllHighlights();
+            _lazyHighlightEnabled = lazyHighlightEnabled;
         }
-        return _text;
     }
 
-    @Override
-    public int findFirst(String s) {
-        if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.indexOf(s);
+    /**
+     * Gets the offsets of all the occurrences highlighted in the lazy highlight mode.
+     *
+     * @return the sorted offsets. An empty array if nothing is highlighted or the lazy highlight mode is not enabled.
+     */
+    public int[] getHighlightedOffsets() {
+        int[] offsets = new int[_matchCount];
+        if (_matchOffsets != null) {
+            System.arraycopy(_matchOffsets, 0, offsets, 0, _matchCount);
+        }
+        return offsets;
+    }
+
+    private void setMatchOffsets(BitSet indices, int length) {
+        indices = (BitSet) indices.clone();
+        if (_matchOffsets != null && _matchLength == length) {
+            for (int i = 0; i < _matchCount; i++) {
+                indices.set(_matchOffsets[i]);
+            }
+        }
+        // the occurrences highlighted one by one so far are highlighted lazily too
+        Set<Integer> highlighted = getHighlightedIndices(length);
+        if (!highlighted.isEmpty()) {
+            for (Integer i : highlighted) {
+                indices.set(i);
             }
-            else {
-                return indexOf(text, s, 0);
+            Highlighter highlighter = ((JTextComponent) _component).getHighlighter();
+            Iterator itor = _highlighCache.getAllHighlights();
+            while (itor.hasNext()) {
+                Object o = itor.next();
+                if (o instanceof Highlighter.Highlight && highlighted.contains(((Highlighter.Highlight) o).getStartOffset())) {
+                    highlighter.removeHighlight(o);
+                    itor.remove();
+                }
             }
         }
-        else {
-            return super.findFirst(s);
+        int[] offsets = new int[indices.cardinality()];
+        int count = 0;
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            offsets[count++] = i;
+        }
+        _matchOffsets = offsets;
+        _matchCount = count;
+        _matchLength = length;
+        if (count > 0) {
+            _selectedIndex = offsets[count - 1];
         }
+        installViewportListener();
+        updateVisibleHighlights(true);
     }
 
-    static int lastIndexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        int rightIndex = sourceCount - targetCount;
-        if (fromIndex < 0) {
-            return -1;
+    private void removeMatchOffsets() {
+        _matchOffsets = null;
+        _matchCount = 0;
+        uninstallViewportListener();
+        removeVisibleHighlights();
+    }
+
+    private boolean isLazilyHighlighted(int index, int length) {
+        return _matchOffsets != null && _matchLength == length && Arrays.binarySearch(_matchOffsets, 0, _matchCount, index) >= 0;
+    }
+
+    /**
+     * Moves the offsets of the occurrences after the document changed and searches the changed range again.
+     *
+     * @param offset        the offset of the change
+     * @param length        the length of the inserted text
+     * @param removedLength the length of the removed text
+     */
+    private void updateMatchOffsets(int offset, int length, int removedLength) {
+        int matchLength = _matchLength;
+        Document document = ((JTextComponent) _component).getDocument();
+        int start = Math.max(0, offset - matchLength + 1);
+        int end = Math.min(document.getLength(), offset + length + matchLength - 1);
+
+        // the occurrences before the changed range are kept as they are and the ones after it are moved
+        int[] offsets = _matchOffsets;
+        int before = 0;
+        while (before < _matchCount && offsets[before] < start) {
+            before++;
         }
-        if (fromIndex > rightIndex) {
-            fromIndex = rightIndex;
+        int after = before;
+        while (after < _matchCount && offsets[after] < offset + removedLength) {
+            after++;
         }
-        /* Empty string always matches. */
-        if (targetCount == 0) {
-            return fromIndex;
+        int delta = length - removedLength;
+        while (after < _matchCount && offsets[after] + delta < end) {
+            after++;
         }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
 
-        int strLastIndex = targetCount - 1;
-        int min = targetCount - 1;
-        int i = min + fromIndex;
+        BitSet found = new BitSet();
+        String text = _highlightAllText;
+        if (text != null && text.length() == matchLength && matchLength > 0) {
+            TextPattern pattern = getTextPattern(text);
+            DocumentText documentText = new DocumentText(document);
+            for (int i = pattern.indexOf(documentText, start, end); i != -1; i = pattern.indexOf(documentText, i + 1, end)) {
+                found.set(i);
+            }
+        }
 
-        while (i >= min) {
-            while (i >= min && source.charAt(i) != lowerTarget[strLastIndex] && source.charAt(i) != upperTarget[strLastIndex]) {
-                i--;
+        int count = before + found.cardinality() + _matchCount - after;
+        int[] newOffsets = count <= offsets.length ? offsets : new int[count];
+        if (newOffsets != offsets) {
+            System.arraycopy(offsets, 0, newOffsets, 0, before);
+        }
+        System.arraycopy(offsets, after, newOffsets, count - (_matchCount - after), _matchCount - after);
+        for (int i = count - (_matchCount - after); i < count; i++) {
+            newOffsets[i] += delta;
+        }
+        int n = before;
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            newOffsets[n++] = i;
+        }
+        _matchOffsets = newOffsets;
+        _matchCount = count;
+        // the views are not updated yet when the document listeners are notified
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                updateVisibleHighlights(true);
             }
-            int j = i - 1;
-            int start = j - (targetCount - 1);
-            int k = strLastIndex - 1;
+        });
+    }
 
-            while (j > start) {
-                char ch = source.charAt(j);
-                if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                    i--;
-                    break;
+    private void installViewportListener() {
+        Container parent = _component.getParent();
+        JViewport viewport = parent instanceof JViewport ? (JViewport) parent : null;
+        if (viewport != _viewport) {
+            uninstallViewportListener();
+            if (viewport != null) {
+                if (_viewportListener == null) {
+                    _viewportListener = new ChangeListener() {
+                        public void stateChanged(ChangeEvent e) {
+                            updateVisibleHighlights(false);
+                        }
+                    };
                 }
-                j--;
-                k--;
+                viewport.addChangeListener(_viewportListener);
             }
-            if (j <= start) {
-                return start + 1;
+            _viewport = viewport;
+        }
+    }
+
+    private void uninstallViewportListener() {
+        if (_viewport != null) {
+            _viewport.removeChangeListener(_viewportListener);
+            _viewport = null;
+        }
+    }
+
+    private void removeVisibleHighlights() {
+        if (!_visibleHighlights.isEmpty()) {
+            Highlighter highlighter = ((JTextComponent) _component).getHighlighter();
+            for (Object o : _visibleHighlights) {
+                highlighter.removeHighlight(o);
             }
+            _visibleHighlights.clear();
         }
-        return -1;
+        _visibleStart = -1;
+        _visibleEnd = -1;
     }
 
-    private static int indexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        if (fromIndex >= sourceCount) {
-            return (targetCount == 0 ? sourceCount : -1);
+    /**
+     * Highlights the occurrences in the visible area of the text component.
+     *
+     * @param force true to highlight again even if the visible area didn't change.
+     */
+    private void updateVisibleHighlights(boolean force) {
+        if (_matchOffsets == null) {
+            return;
         }
-        if (fromIndex < 0) {
-            fromIndex = 0;
+        JTextComponent textComponent = (JTextComponent) _component;
+        Rectangle rect = textComponent.getVisibleRect();
+        int start = 0;
+        int end = -1;
+        if (!rect.isEmpty()) {
+            start = textComponent.viewToModel(new Point(rect.x, rect.y));
+            end = textComponent.viewToModel(new Point(rect.x + rect.width, rect.y + rect.height));
         }
-        if (targetCount == 0) {
-            return fromIndex;
+        if (!force && start == _visibleStart && end == _visibleEnd) {
+            return;
         }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
 
-        int max = sourceCount - targetCount;
+        removeVisibleHighlights();
+        _visibleStart = start;
+        _visibleEnd = end;
+        if (start < 0 || end < start) {
+            return;
+        }
 
-        for (int i = fromIndex; i <= max; i++) {
-            /* Look for first character. */
-            char c = source.charAt(i);
-            if (c != lowerTarget[0] && c != upperTarget[0]) {
-                i++;
-                while (i <= max && source.charAt(i) != lowerTarget[0] && source.charAt(i) != upperTarget[0]) {
-                    i++;
-                }
+        int i = Arrays.binarySearch(_matchOffsets, 0, _matchCount, Math.max(0, start - _matchLength + 1));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        Highlighter highlighter = textComponent.getHighlighter();
+        for (; i < _matchCount && _matchOffsets[i] <= end; i++) {
+            try {
+                _visibleHighlights.add(highlighter.addHighlight(_matchOffsets[i], _matchOffsets[i] + _matchLength, _highlightPainter));
+            }
+            catch (BadLocationException e) {
+                // ignore
             }
+        }
+    }
 
-            /* Found first character, now look at the rest of v2 */
-            if (i <= max) {
-                int j = i + 1;
-                int end = j + targetCount - 1;
-                for (int k = 1; j < end; j++) {
-                    char ch = source.charAt(j);
-                    if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                        break;
-                    }
-                    k++;
+    @Override
+    public BitSet findAll(String s) {
+        if (_component instanceof JTextComponent) {
+            BitSet matches = new BitSet();
+            CharSequence text = getText();
+            for (int i = indexOf(text, s, 0); i != -1; i = indexOf(text, s, i + 1)) {
+                matches.set(i);
+                if (s.length() == 0) {
+                    break;
                 }
+            }
+            return matches;
+        }
+        else {
+            return super.findAll(s);
+        }
+    }
 
-                if (j == end) {
-                    /* Found whole string. */
-                    return i;
-                }
+    @Override
+    public int findLast(String s) {
+        if (_component instanceof JTextComponent) {
+            CharSequence text = getText();
+            return lastIndexOf(text, s, text.length());
+        }
+        else {
+            return super.findLast(s);
+        }
+    }
+
+    private String _text = null;
+
+    /**
+     * Gets the text from Document.
+     *
+     * @return the text of this JTextComponent. It used Document to get the text.
+     */
+    private String getDocumentText() {
+        if (_text == null) {
+            Document document = ((JTextComponent) _component).getDocument();
+            try {
+                String text = document.getText(0, document.getLength());
+                _text = text;
+            }
+            catch (BadLocationException e) {
+                return "";
             }
         }
-        return -1;
+        return _text;
+    }
+
+    /**
+     * Gets the text to be searched. It is either the text copied from the Document or a view of the segments of the
+     * Document, depending on {@link #isSegmentSearchEnabled()}.
+     *
+     * @return the text to be searched.
+     */
+    private CharSequence getText() {
+        if (isSegmentSearchEnabled()) {
+            return new DocumentText(((JTextComponent) _component).getDocument());
+        }
+        else {
+            return getDocumentText();
+        }
+    }
+
+    private int indexOf(CharSequence text, String s, int fromIndex) {
+        if (text instanceof String && isCaseSensitive()) {
+            return ((String) text).indexOf(s, fromIndex);
+        }
+        return getTextPattern(s).indexOf(text, fromIndex, text.length());
+    }
+
+    private int lastIndexOf(CharSequence text, String s, int fromIndex) {
+        if (text instanceof String && isCaseSensitive()) {
+            return ((String) text).lastIndexOf(s, fromIndex);
+        }
+        return getTextPattern(s).lastIndexOf(text, fromIndex);
+    }
+
+    private TextPattern getTextPattern(String s) {
+        if (_textPattern == null || !_textPattern.matches(s, isCaseSensitive())) {
+            _textPattern = new TextPattern(s, isCaseSensitive());
+        }
+        return _textPattern;
+    }
+
+    @Override
+    public int findFirst(String s) {
+        if (_component instanceof JTextComponent) {
+            return indexOf(getText(), s, 0);
+        }
+        else {
+            return super.findFirst(s);
+        }
     }
 
     @Override
@@ -476,7 +843,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
         }
 
         if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
+            CharSequence text = getText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -485,11 +852,11 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex) : indexOf(text, s, selectedIndex);
+            int found = indexOf(text, s, selectedIndex);
 
             // if not found, start over from the beginning
             if (found == -1) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = indexOf(text, s, 0);
                 if (found >= selectedIndex) {
                     found = -1;
                 }
@@ -509,7 +876,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
         }
 
         if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
+            CharSequence text = getText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -518,11 +885,11 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex) : lastIndexOf(text, s, selectedIndex);
+            int found = lastIndexOf(text, s, selectedIndex);
 
             // if not found, start over from the end
             if (found == -1) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, text.length() - 1) : lastIndexOf(text, s, text.length() - 1);
+                found = lastIndexOf(text, s, text.length() - 1);
                 if (found <= selectedIndex) {
                     found = -1;
                 }
@@ -538,7 +905,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     @Override
     public int findNext(String s) {
         if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
+            CharSequence text = getText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -547,11 +914,11 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex + 1) : indexOf(text, s, selectedIndex + 1);
+            int found = indexOf(text, s, selectedIndex + 1);
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = indexOf(text, s, 0);
                 if (found >= selectedIndex) {
                     found = -1;
                 }
@@ -567,7 +934,7 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     @Override
     public int findPrevious(String s) {
         if (_component instanceof JTextComponent) {
-            String text = getDocumentText();
+            CharSequence text = getText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -576,11 +943,11 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex - 1) : lastIndexOf(text, s, selectedIndex - 1);
+            int found = lastIndexOf(text, s, selectedIndex - 1);
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, count - 1) : lastIndexOf(text, s, count - 1);
+                found = lastIndexOf(text, s, count - 1);
                 if (found <= selectedIndex) {
                     found = -1;
                 }
@@ -593,6 +960,169 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
         }
     }
 
+    /**
+     * The searching text prepared for the search. For the case insensitive search, both the lower case and the upper
+     * case of each character are kept so that the text to be searched doesn't have to be converted.
+     */
+    static class TextPattern {
+        private final String _target;
+        private final boolean _caseSensitive;
+        private final char[] _lowerTarget;
+        private final char[] _upperTarget;
+
+        TextPattern(String target, boolean caseSensitive) {
+            _target = target;
+            _caseSensitive = caseSensitive;
+            _lowerTarget = target.toCharArray();
+            _upperTarget = target.toCharArray();
+            if (!caseSensitive) {
+                for (int i = 0; i < _lowerTarget.length; i++) {
+                    _lowerTarget[i] = Character.toLowerCase(_lowerTarget[i]);
+                    _upperTarget[i] = Character.toUpperCase(_upperTarget[i]);
+                }
+            }
+        }
+
+        boolean matches(String target, boolean caseSensitive) {
+            return _caseSensitive == caseSensitive && _target.equals(target);
+        }
+
+        private boolean matchesAt(CharSequence source, int index) {
+            for (int k = 0; k < _lowerTarget.length; k++) {
+                char ch = source.charAt(index + k);
+                if (ch != _lowerTarget[k] && ch != _upperTarget[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Finds the first occurrence starting between fromIndex and toIndex. It follows {@link String#indexOf(String,
+         * int)} for the indices out of the range.
+         *
+         * @param source    the text to be searched
+         * @param fromIndex the index to start the search from
+         * @param toIndex   the index to end the search before. The occurrence might end after it.
+         * @return the index of the occurrence. -1 if not found.
+         */
+        int indexOf(CharSequence source, int fromIndex, int toIndex) {
+            int sourceCount = source.length();
+            int targetCount = _lowerTarget.length;
+            if (fromIndex >= sourceCount) {
+                return (targetCount == 0 ? sourceCount : -1);
+            }
+            if (fromIndex < 0) {
+                fromIndex = 0;
+            }
+            if (targetCount == 0) {
+                return fromIndex;
+            }
+
+            int max = Math.min(sourceCount - targetCount, toIndex - 1);
+            for (int i = fromIndex; i <= max; i++) {
+                if (matchesAt(source, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds the last occurrence starting at or before fromIndex. It follows {@link String#lastIndexOf(String, int)}
+         * for the indices out of the range.
+         *
+         * @param source    the text to be searched
+         * @param fromIndex the index to start the search from
+         * @return the index of the occurrence. -1 if not found.
+         */
+        int lastIndexOf(CharSequence source, int fromIndex) {
+            int rightIndex = source.length() - _lowerTarget.length;
+            if (fromIndex < 0) {
+                return -1;
+            }
+            if (fromIndex > rightIndex) {
+                fromIndex = rightIndex;
+            }
+            /* Empty string always matches. */
+            if (_lowerTarget.length == 0) {
+                return fromIndex;
+            }
+
+            for (int i = fromIndex; i >= 0; i--) {
+                if (matchesAt(source, i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * A read only view of the text of a Document. The text is read in segments with partial return enabled so that the
+     * Document is never copied as a whole.
+     */
+    static class DocumentText implements CharSequence {
+        private static final int SEGMENT_SIZE = 4096;
+
+        private final Document _document;
+        private final int _length;
+        private final Segment _segment = new Segment();
+        private int _segmentStart;
+        private int _segmentEnd;
+
+        DocumentText(Document document) {
+            _document = document;
+            _length = document.getLength();
+            _segment.setPartialReturn(true);
+        }
+
+        public int length() {
+            return _length;
+        }
+
+        public char charAt(int index) {
+            if (index < _segmentStart || index >= _segmentEnd) {
+                if (index < 0 || index >= _length) {
+                    throw new IndexOutOfBoundsException("" + index);
+                }
+                if (index < _segmentStart) {
+                    // searching backward, read the segment before the index
+                    load(Math.max(0, index - SEGMENT_SIZE + 1));
+                }
+                if (index < _segmentStart || index >= _segmentEnd) {
+                    load(index);
+                }
+            }
+            return _segment.array[_segment.offset + index - _segmentStart];
+        }
+
+        private void load(int start) {
+            try {
+                _document.getText(start, _length - start, _segment);
+            }
+            catch (BadLocationException e) {
+                throw new IndexOutOfBoundsException(e.getMessage());
+            }
+            _segmentStart = start;
+            _segmentEnd = start + _segment.count;
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            try {
+                return _document.getText(start, end - start);
+            }
+            catch (BadLocationException e) {
+                throw new IndexOutOfBoundsException(e.getMessage());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, _length).toString();
+        }
+    }
+
     private class HighlighCache extends HashMap {
         public void addHighlight(Object obj) {
             put(obj, null);
@@ -621,4 +1151,15 @@ public class TextComponentSearchable extends Searchable implements DocumentListe
     protected void searchingTextEmpty() {
         setSelectedIndex(-1, false);
     }
+
+    /**
+     * The background search works on elements while TextComponentSearchable searches the text by offsets, so it always
+     * searches on the event dispatch thread.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isBackgroundSearch() {
+        return false;
+    }
 }
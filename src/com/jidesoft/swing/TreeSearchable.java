@@ -5,6 +5,10 @@
  */
 package com.jidesoft.swing;
 
+import com.jidesoft.utils.IndexCache;
+import com.jidesoft.utils.IntIndexCache;
+import com.jidesoft.utils.TreeIndexCache;
+
 import javax.swing.*;
 import javax.swing.event.TreeModelEvent;
 import javax.swing.event.TreeModelListener;
@@ -13,6 +17,7 @@ import javax.swing.tree.TreePath;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -48,12 +53,22 @@ import java.util.List;
  * };
  * </pre>
  * </code>
+ * <p/>
+ * If you use a recursive TreeSearchable on a large tree that changes often, you can call {@link
+ * #setIncrementalUpdate(boolean)} so that the tree model events patch the cached tree paths instead of throwing them
+ * away.
  */
 public class TreeSearchable extends Searchable implements TreeModelListener, PropertyChangeListener {
 
     private boolean _recursive = false;
+    private boolean _incrementalUpdate = false;
     private transient List<TreePath> _treePathes;
 
+    // maps the last path component of each cached tree path to its position in _treePathes
+    private transient IndexCache _treePathIndex;
+    // true if a node appears more than once in _treePathes so _treePathIndex can't be trusted
+    private transient boolean _treePathIndexAmbiguous;
+
     public TreeSearchable(JTree tree) {
         super(tree);
         if (tree.getModel() != null) {
@@ -87,6 +102,35 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
         resetTreePathes();
     }
 
+    /**
+     * Checks if the cached tree paths are updated incrementally when the tree model changes.
+     *
+     * @return true if the tree paths are updated incrementally.
+     * @see #setIncrementalUpdate(boolean)
+     */
+    public boolean isIncrementalUpdate() {
+        return _incrementalUpdate;
+    }
+
+    /**
+     * Sets whether the cached tree paths are updated incrementally when the tree model changes.
+     * <p/>
+     * The tree paths are only cached when the searchable is recursive. By default, the cache is thrown away whenever
+     * a tree model event is received, and rebuilt by walking the whole tree the next time it is needed. If incremental
+     * update is true, the tree paths of the inserted, removed or restructured nodes are patched into the cache using
+     * the information in the TreeModelEvent. It only works with the tree paths created by the default {@link
+     * #populateTreePaths()}, and it requires each node to appear only once in the tree. Otherwise, it falls back to
+     * rebuilding the cache.
+     * <p/>
+     * By default, it is false.
+     *
+     * @param incrementalUpdate true to update the tree paths incrementally.
+     */
+    public void setIncrementalUpdate(boolean incrementalUpdate) {
+        _incrementalUpdate = incrementalUpdate;
+        resetTreePathes();
+    }
+
     @Override
     public void uninstallListeners() {
         super.uninstallListeners();
@@ -124,6 +168,38 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
         }
     }
 
+    @Override
+    protected void setSelectedIndices(BitSet indices, boolean incremental) {
+        JTree tree = (JTree) _component;
+        if (!isRecursive()) {
+            int[] rows = new int[indices.cardinality()];
+            int n = 0;
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                rows[n++] = i;
+            }
+            if (incremental) {
+                tree.addSelectionRows(rows);
+            }
+            else {
+                tree.setSelectionRows(rows);
+            }
+        }
+        else {
+            List<TreePath> treePaths = getTreePathes();
+            TreePath[] paths = new TreePath[indices.cardinality()];
+            int n = 0;
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                paths[n++] = treePaths.get(i);
+            }
+            if (incremental) {
+                tree.addSelectionPaths(paths);
+            }
+            else {
+                tree.setSelectionPaths(paths);
+            }
+        }
+    }
+
     @Override
     protected int getSelectedIndex() {
         if (!isRecursive()) {
@@ -133,7 +209,7 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
         else {
             TreePath[] treePaths = ((JTree) _component).getSelectionPaths();
             if (treePaths != null && treePaths.length > 0) {
-                return getTreePathes().indexOf(treePaths[0]);
+                return indexOfTreePath(treePaths[0]);
             }
             else
                 return -1;
@@ -192,6 +268,7 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
      */
     protected void resetTreePathes() {
         _treePathes = null;
+        _treePathIndex = null;
     }
 
     /**
@@ -208,6 +285,210 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
         return _treePathes;
     }
 
+    /**
+     * Gets the position of the tree path in the cached tree paths list, using the node to position index instead of
+     * searching the list.
+     *
+     * @param path the tree path
+     * @return the position. -1 if the tree path is not in the list.
+     */
+    private int indexOfTreePath(TreePath path) {
+        List<TreePath> treePaths = getTreePathes();
+        int index = getTreePathIndex().getIndex(path.getLastPathComponent());
+        if (index >= 0 && index < treePaths.size() && path.equals(treePaths.get(index))) {
+            return index;
+        }
+        return _treePathIndexAmbiguous ? treePaths.indexOf(path) : -1;
+    }
+
+    private IndexCache getTreePathIndex() {
+        if (_treePathIndex == null) {
+            List<TreePath> treePaths = getTreePathes();
+            IndexCache index = isIncrementalUpdate() ? new TreeIndexCache() : new IntIndexCache(treePaths.size());
+            boolean ambiguous = false;
+            for (int i = 0; i < treePaths.size(); i++) {
+                Object node = treePaths.get(i).getLastPathComponent();
+                if (index.getIndex(node) != -1) {
+                    ambiguous = true;
+                }
+                index.putIndex(node, i);
+            }
+            _treePathIndex = index;
+            _treePathIndexAmbiguous = ambiguous;
+        }
+        return _treePathIndex;
+    }
+
+    /**
+     * Inserts the tree paths at the position of the cached list and indexes them.
+     *
+     * @return false if a node is already in the list.
+     */
+    private boolean insertTreePaths(int position, List<TreePath> paths) {
+        _treePathes.addAll(position, paths);
+        _treePathIndex.adjustIndices(position, paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            Object node = paths.get(i).getLastPathComponent();
+            if (_treePathIndex.getIndex(node) != -1) {
+                return false;
+            }
+            _treePathIndex.putIndex(node, position + i);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the tree paths from the position (inclusive) to the end position (exclusive) of the cached list.
+     */
+    private void removeTreePaths(int position, int end) {
+        if (end <= position) {
+            return;
+        }
+        for (int i = position; i < end; i++) {
+            _treePathIndex.remove(_treePathes.get(i).getLastPathComponent());
+        }
+        _treePathes.subList(position, end).clear();
+        _treePathIndex.adjustIndices(end, position - end);
+    }
+
+    /**
+     * Gets the position right after the last descendant of the tree path at the position of the cached list.
+     */
+    private int getDescendantsEnd(int position) {
+        TreePath path = _treePathes.get(position);
+        int end = position + 1;
+        while (end < _treePathes.size() && path.isDescendant(_treePathes.get(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Gets the position in the cached list where the subtree of the child at childIndex of the parent path starts. It
+     * is the position of the next node in the depth-first order that is already cached.
+     *
+     * @return the position. -1 if it can't be found.
+     */
+    private int getInsertPosition(TreeModel model, TreePath parentPath, int childIndex) {
+        TreePath path = parentPath;
+        int next = childIndex + 1;
+        while (true) {
+            Object node = path.getLastPathComponent();
+            if (next < model.getChildCount(node)) {
+                return _treePathIndex.getIndex(model.getChild(node, next));
+            }
+            TreePath grandParentPath = path.getParentPath();
+            if (grandParentPath == null) {
+                return _treePathes.size();
+            }
+            int index = model.getIndexOfChild(grandParentPath.getLastPathComponent(), node);
+            if (index == -1) {
+                return -1;
+            }
+            next = index + 1;
+            path = grandParentPath;
+        }
+    }
+
+    private void collectTreePaths(Object node, TreePath path, TreeModel model, List<TreePath> paths) {
+        paths.add(path);
+        for (int i = 0; i < model.getChildCount(node); i++) {
+            Object childNode = model.getChild(node, i);
+            collectTreePaths(childNode, path.pathByAddingChild(childNode), model, paths);
+        }
+    }
+
+    /**
+     * Patches the cached tree paths for inserted nodes.
+     *
+     * @param e the tree model event
+     * @return false if the cache can't be patched and has to be rebuilt.
+     */
+    private boolean treePathsInserted(TreeModelEvent e) {
+        if (_treePathes == null) {
+            return true;
+        }
+        getTreePathIndex();
+        TreePath parentPath = e.getTreePath();
+        int[] childIndices = e.getChildIndices();
+        Object[] children = e.getChildren();
+        if (_treePathIndexAmbiguous || parentPath == null || childIndices == null || children == null || childIndices.length != children.length) {
+            return false;
+        }
+        TreeModel model = ((JTree) _component).getModel();
+        // insert the last child first so the next sibling of each child is always cached already
+        for (int i = childIndices.length - 1; i >= 0; i--) {
+            if (i > 0 && childIndices[i - 1] >= childIndices[i]) {
+                return false;
+            }
+            int position = getInsertPosition(model, parentPath, childIndices[i]);
+            if (position == -1) {
+                return false;
+            }
+            List<TreePath> paths = new ArrayList<TreePath>();
+            collectTreePaths(children[i], parentPath.pathByAddingChild(children[i]), model, paths);
+            if (!insertTreePaths(position, paths)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Patches the cached tree paths for removed nodes.
+     *
+     * @param e the tree model event
+     * @return false if the cache can't be patched and has to be rebuilt.
+     */
+    private boolean treePathsRemoved(TreeModelEvent e) {
+        if (_treePathes == null) {
+            return true;
+        }
+        getTreePathIndex();
+        Object[] children = e.getChildren();
+        if (_treePathIndexAmbiguous || children == null) {
+            return false;
+        }
+        for (Object child : children) {
+            int position = _treePathIndex.getIndex(child);
+            if (position == -1) {
+                return false;
+            }
+            removeTreePaths(position, getDescendantsEnd(position));
+        }
+        return true;
+    }
+
+    /**
+     * Patches the cached tree paths for a node whose structure has changed.
+     *
+     * @param e the tree model event
+     * @return false if the cache can't be patched and has to be rebuilt.
+     */
+    private boolean treePathsStructureChanged(TreeModelEvent e) {
+        if (_treePathes == null) {
+            return true;
+        }
+        getTreePathIndex();
+        TreePath path = e.getTreePath();
+        if (_treePathIndexAmbiguous || path == null || path.getParentPath() == null) {
+            return false;
+        }
+        int position = _treePathIndex.getIndex(path.getLastPathComponent());
+        if (position == -1) {
+            return false;
+        }
+        removeTreePaths(position + 1, getDescendantsEnd(position));
+        TreeModel model = ((JTree) _component).getModel();
+        Object node = path.getLastPathComponent();
+        List<TreePath> paths = new ArrayList<TreePath>();
+        for (int i = 0; i < model.getChildCount(node); i++) {
+            Object childNode = model.getChild(node, i);
+            collectTreePaths(childNode, path.pathByAddingChild(childNode), model, paths);
+        }
+        return insertTreePaths(position + 1, paths);
+    }
+
     /**
      * Converts the element in JTree to string. The element by default is TreePath. The returned value will be
      * <code>toString()</code> of the last path component in the TreePath.
@@ -230,40 +511,54 @@ public class TreeSearchable extends Searchable implements TreeModelListener, Pro
     }
 
     public void treeNodesChanged(TreeModelEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
         hidePopup();
-        resetTreePathes();
+        // the changed nodes stay at the same place so the tree paths are still valid
+        if (!isIncrementalUpdate()) {
+            resetTreePathes();
+        }
     }
 
     public void treeNodesInserted(TreeModelEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
         hidePopup();
-        resetTreePathes();
+        if (!isIncrementalUpdate() || !treePathsInserted(e)) {
+            resetTreePathes();
+        }
     }
 
     public void treeNodesRemoved(TreeModelEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
         hidePopup();
-        resetTreePathes();
+        if (!isIncrementalUpdate() || !treePathsRemoved(e)) {
+            resetTreePathes();
+        }
     }
 
     public void treeStructureChanged(TreeModelEvent e) {
+        clearElementStringCache();
         if (!isProcessModelChangeEvent()) {
             return;
         }
         hidePopup();
-        resetTreePathes();
+        if (!isIncrementalUpdate() || !treePathsStructureChanged(e)) {
+            resetTreePathes();
+        }
     }
 
     public void propertyChange(PropertyChangeEvent evt) {
         if (JTree.TREE_MODEL_PROPERTY.equals(evt.getPropertyName())) {
             hidePopup();
+            clearElementStringCache();
 
             if (evt.getOldValue() instanceof TreeModel) {
                 ((TreeModel) evt.getOldValue()).removeTreeModelListener(this);
@@ -1,15 +1,22 @@
 package com.jidesoft.utils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.*;
 
 /**
  * This is a fast access Vector that sacrifices memory for speed. It will reduce the speed of indexOf method from O(n)
- * to O(1). However it will at least double the memory used by Vector. So use it appropriately. <p><strong>Just like
+ * to O(log n). However it keeps a tree node for each element in its {@link TreeIndexCache}, so it will use several
+ * times the memory used by Vector. So use it appropriately. If memory matters more, {@link
+ * #setCompactCaching(boolean)} uses an {@link IntIndexCache} which looks up in O(1) and uses much less memory, but
+ * inserting or removing an element in the middle of the list takes O(n). The index cache is not serialized. It is
+ * rebuilt after the list is deserialized. <p><strong>Just like
  * Vector, this implementation is synchronized.</strong> Incomparisonn, {@link CachedArrayList} is not synchronized.
  */
 public class CachedVector<E> extends Vector<E> {
-    private Map<Object, Integer> _indexCache;
+    private transient Map<Object, Integer> _indexCache;
     private boolean _lazyCaching = false;
+    private boolean _compactCaching = false;
 
     public CachedVector() {
     }
@@ -28,9 +35,9 @@ public class CachedVector<E> extends Vector<E> {
     @Override
     public int indexOf(Object elem) {
         initializeCache();
-        Integer o = _indexCache.get(elem);
-        if (o != null) {
-            return o;
+        int index = getCachedIndex(elem);
+        if (index != -1) {
+            return index;
         }
         else if (isLazyCaching()) {
             int i = super.indexOf(elem);
@@ -53,9 +60,13 @@ public class CachedVector<E> extends Vector<E> {
      *
      * @param index    the index. All values above this index will be changed.
      * @param increase a positive number to increase or a negative number to decrease.
+     * @see IndexCache#adjustIndices(int, int)
      */
     protected synchronized void adjustCache(int index, int increase) {
-        if (_indexCache != null) {
+        if (_indexCache instanceof IndexCache) {
+            ((IndexCache) _indexCache).adjustIndices(index, increase);
+        }
+        else if (_indexCache != null) {
             Map<Object, Integer> newCache = createCache();
             Set<Object> keys = _indexCache.keySet();
             for (Object key : keys) {
@@ -71,8 +82,32 @@ public class CachedVector<E> extends Vector<E> {
         }
     }
 
+    /**
+     * Creates the map that caches the index of each element. By default, it returns a {@link TreeIndexCache} so that
+     * inserting or removing an element in the middle of the list doesn't have to rebuild the whole cache. If the map you
+     * return is not an {@link IndexCache}, the cache will be rebuilt in {@link #adjustCache(int, int)}.
+     *
+     * @return the map that caches the index of each element.
+     */
     protected Map<Object, Integer> createCache() {
-        return new IdentityHashMap();
+        return isCompactCaching() ? new IntIndexCache(size()) : new TreeIndexCache();
+    }
+
+    private int getCachedIndex(Object o) {
+        if (_indexCache instanceof IndexCache) {
+            return ((IndexCache) _indexCache).getIndex(o);
+        }
+        Integer index = _indexCache.get(o);
+        return index != null ? index : -1;
+    }
+
+    private void putCachedIndex(Object o, int index) {
+        if (_indexCache instanceof IndexCache) {
+            ((IndexCache) _indexCache).putIndex(o, index);
+        }
+        else {
+            _indexCache.put(o, index);
+        }
     }
 
     /**
@@ -82,8 +117,11 @@ public class CachedVector<E> extends Vector<E> {
      * @param index the index.
      */
     public synchronized void cacheIt(Object o, int index) {
-        if (_indexCache != null && (_indexCache.get(o) == null || index < _indexCache.get(o))) {
-            _indexCache.put(o, index);
+        if (_indexCache != null) {
+            int cachedIndex = getCachedIndex(o);
+            if (cachedIndex == -1 || index < cachedIndex) {
+                putCachedIndex(o, index);
+            }
         }
     }
 
@@ -219,10 +257,10 @@ public class CachedVector<E> extends Vector<E> {
      */
     public synchronized void cacheAll() {
         _indexCache = createCache();
-        Integer i = 0;
+        int i = 0;
         for (Object elem : this) {
-            if (_indexCache.get(elem) == null) {
-                _indexCache.put(elem, i);
+            if (getCachedIndex(elem) == -1) {
+                putCachedIndex(elem, i);
             }
             i++;
         }
@@ -242,6 +280,43 @@ public class CachedVector<E> extends Vector<E> {
         _lazyCaching = lazyCaching;
     }
 
+    /**
+     * Checks if the compact cache is used.
+     *
+     * @return true if the compact cache is used. Otherwise false.
+     * @see #setCompactCaching(boolean)
+     */
+    public boolean isCompactCaching() {
+        return _compactCaching;
+    }
+
+    /**
+     * Sets the flag to use a compact cache. If true, the index cache is an {@link IntIndexCache} which keeps the
+     * indices in an <code>int[]</code> without creating any object per element. It uses much less memory for large
+     * lists but inserting or removing an element in the middle of the list has to update all the cached indices.
+     * Otherwise a {@link TreeIndexCache} is used, which can shift the indices in O(log n) time. By default, it is
+     * false. Changing this flag rebuilds the cache.
+     *
+     * @param compactCaching true to use the compact cache.
+     */
+    public synchronized void setCompactCaching(boolean compactCaching) {
+        if (_compactCaching != compactCaching) {
+            _compactCaching = compactCaching;
+            uncacheAll();
+            if (!isLazyCaching()) {
+                cacheAll();
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // the index cache is not serialized
+        if (!isLazyCaching() && size() > 0) {
+            cacheAll();
+        }
+    }
+
     @Override
     protected void removeRange(int fromIndex, int toIndex) {
         if (fromIndex == toIndex) {
@@ -0,0 +1,288 @@
+/*
+ * @(#)DirectoryListingCache.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.utils;
+
+import javax.swing.filechooser.FileSystemView;
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of directory listings. Each listing keeps the name and the is-directory flag of every child, so
+ * callers can filter the children in memory instead of touching the file system again. A directory can be listed
+ * either as a plain <code>File</code> or through a <code>FileSystemView</code>, in which case the view decides which
+ * children there are, and the two listings are cached separately.
+ * <p/>
+ * A listing is trusted for {@link #getTimeToLive()} milliseconds. After that, the last modified time of the directory
+ * is checked. The directory is only listed again if it has changed. When more than {@link #getMaximumSize()}
+ * directories are cached, the least recently used listing is dropped.
+ * <p/>
+ * This class is thread safe. Use {@link #getSharedInstance()} to get the instance shared by the JIDE components.
+ */
+public class DirectoryListingCache {
+    /**
+     * The default maximum number of cached directories.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    /**
+     * The default time to live of a listing, in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 2000;
+
+    private static final DirectoryListingCache SHARED_INSTANCE = new DirectoryListingCache(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+
+    private final int _maximumSize;
+    private final long _timeToLive;
+    private final Map<Object, Listing> _listings;
+
+    /**
+     * A child of a cached directory.
+     */
+    public static final class Entry {
+        private final File _file;
+        private final boolean _directory;
+        private byte _hidden; // 0 unknown, 1 hidden, 2 not hidden
+
+        Entry(File file, boolean directory) {
+            _file = file;
+            _directory = directory;
+        }
+
+        /**
+         * Gets the name of the child.
+         *
+         * @return the name.
+         */
+        public String getName() {
+            return _file.getName();
+        }
+
+        /**
+         * Gets the child as a file.
+         *
+         * @return the file.
+         */
+        public File getFile() {
+            return _file;
+        }
+
+        /**
+         * Checks if the child is a directory. The flag is read once when the directory is listed.
+         *
+         * @return true if the child is a directory.
+         */
+        public boolean isDirectory() {
+            return _directory;
+        }
+
+        /**
+         * Checks if the child is hidden. The flag is read from the file system the first time it is asked for.
+         *
+         * @return true if the child is hidden.
+         */
+        public boolean isHidden() {
+            byte hidden = _hidden;
+            if (hidden == 0) {
+                hidden = _file.isHidden() ? (byte) 1 : (byte) 2;
+                _hidden = hidden;
+            }
+            return hidden == 1;
+        }
+
+        @Override
+        public String toString() {
+            return getName();
+        }
+    }
+
+    private static final class ViewKey {
+        final String path;
+        final FileSystemView fileSystemView;
+        final boolean useFileHiding;
+
+        ViewKey(String path, FileSystemView fileSystemView, boolean useFileHiding) {
+            this.path = path;
+            this.fileSystemView = fileSystemView;
+            this.useFileHiding = useFileHiding;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey key = (ViewKey) o;
+            return useFileHiding == key.useFileHiding && fileSystemView == key.fileSystemView && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = path.hashCode();
+            result = 31 * result + System.identityHashCode(fileSystemView);
+            result = 31 * result + (useFileHiding ? 1 : 0);
+            return result;
+        }
+    }
+
+    private static final class Listing {
+        final Entry[] entries;
+        final long lastModified;
+        volatile long validatedAt;
+
+        Listing(Entry[] entries, long lastModified, long validatedAt) {
+            this.entries = entries;
+            this.lastModified = lastModified;
+            this.validatedAt = validatedAt;
+        }
+    }
+
+    /**
+     * Creates a DirectoryListingCache.
+     *
+     * @param maximumSize the maximum number of directories to cache.
+     * @param timeToLive  the time in milliseconds a listing is used without checking the directory again. 0 to always
+     *                    check the last modified time of the directory.
+     */
+    public DirectoryListingCache(int maximumSize, long timeToLive) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        _maximumSize = maximumSize;
+        _timeToLive = timeToLive;
+        _listings = new LinkedHashMap<Object, Listing>(16, 0.75f, true) {
+            private static final long serialVersionUID = -4236384410467735212L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Listing> eldest) {
+                return size() > _maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the shared instance.
+     */
+    public static DirectoryListingCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * Gets the maximum number of cached directories.
+     *
+     * @return the maximum size.
+     */
+    public int getMaximumSize() {
+        return _maximumSize;
+    }
+
+    /**
+     * Gets the time in milliseconds a listing is used without checking the directory again.
+     *
+     * @return the time to live.
+     */
+    public long getTimeToLive() {
+        return _timeToLive;
+    }
+
+    /**
+     * Lists the children of a directory as a plain <code>File</code>. The returned array is shared by all callers and
+     * must not be modified.
+     *
+     * @param directory the directory.
+     * @return the children of the directory. Null if the directory doesn't exist, is not a directory or can't be read.
+     */
+    public Entry[] list(File directory) {
+        return list(directory, null, false);
+    }
+
+    /**
+     * Lists the children of a directory through a <code>FileSystemView</code>, the same as
+     * <code>fileSystemView.getFiles(directory, useFileHiding)</code> does. The files of the entries are the ones
+     * returned by the view. The returned array is shared by all callers and must not be modified.
+     *
+     * @param directory      the directory.
+     * @param fileSystemView the view to list the directory. Null to list it as a plain <code>File</code>.
+     * @param useFileHiding  true to leave out the files the view considers hidden. Ignored if fileSystemView is null.
+     * @return the children of the directory. Null if the directory doesn't exist, is not a directory or can't be read.
+     */
+    public Entry[] list(File directory, FileSystemView fileSystemView, boolean useFileHiding) {
+        String path = directory.getAbsolutePath();
+        Object key = fileSystemView == null ? path : new ViewKey(path, fileSystemView, useFileHiding);
+        Listing listing;
+        synchronized (_listings) {
+            listing = _listings.get(key);
+        }
+        long now = System.currentTimeMillis();
+        if (listing != null) {
+            if (now - listing.validatedAt < _timeToLive) {
+                return listing.entries;
+            }
+            if (new File(path).lastModified() == listing.lastModified) {
+                listing.validatedAt = now;
+                return listing.entries;
+            }
+        }
+
+        long lastModified = new File(path).lastModified();
+        File[] files;
+        if (fileSystemView == null) {
+            // list a plain File so that subclasses such as ShellFolder don't change the result
+            files = new File(path).listFiles();
+        }
+        else {
+            files = fileSystemView.getFiles(directory, useFileHiding);
+        }
+        if (files == null) {
+            synchronized (_listings) {
+                _listings.remove(key);
+            }
+            return null;
+        }
+        Entry[] entries = new Entry[files.length];
+        for (int i = 0; i < files.length; i++) {
+            entries[i] = new Entry(files[i], files[i].isDirectory());
+        }
+        synchronized (_listings) {
+            _listings.put(key, new Listing(entries, lastModified, now));
+        }
+        return entries;
+    }
+
+    /**
+     * Removes all the listings of a directory from the cache, no matter if they were listed through a
+     * <code>FileSystemView</code> or not.
+     *
+     * @param directory the directory.
+     */
+    public void invalidate(File directory) {
+        String path = directory.getAbsolutePath();
+        synchronized (_listings) {
+            _listings.remove(path);
+            for (Iterator<Object> iterator = _listings.keySet().iterator(); iterator.hasNext(); ) {
+                Object key = iterator.next();
+                if (key instanceof ViewKey && ((ViewKey) key).path.equals(path)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the listings from the cache.
+     */
+    public void clear() {
+        synchronized (_listings) {
+            _listings.clear();
+        }
+    }
+}
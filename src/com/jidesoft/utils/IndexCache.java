@@ -0,0 +1,40 @@
+/*
+ * @(#)IndexCache.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.utils;
+
+import java.util.Map;
+
+/**
+ * <code>IndexCache</code> is a map from an element to its index in a list. It is used by {@link CachedArrayList} and
+ * {@link CachedVector}. Different from a regular map, it can shift the indices of all the elements after an insertion
+ * or a removal point in place, so that the list doesn't have to rebuild the whole cache.
+ */
+public interface IndexCache extends Map<Object, Integer> {
+    /**
+     * Gets the cached index of the element without boxing it.
+     *
+     * @param element the element
+     * @return the cached index. -1 if the element is not cached.
+     */
+    int getIndex(Object element);
+
+    /**
+     * Caches the index of the element without boxing it.
+     *
+     * @param element the element
+     * @param index   the index.
+     */
+    void putIndex(Object element, int index);
+
+    /**
+     * Adjusts the cache so that all indices that are greater than or equal to index will increase by the value
+     * specified by the increase parameter.
+     *
+     * @param index    the index. All values at or above this index will be changed.
+     * @param increase a positive number to increase or a negative number to decrease.
+     */
+    void adjustIndices(int index, int increase);
+}
@@ -0,0 +1,280 @@
+/*
+ * @(#)IntIndexCache.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.utils;
+
+import java.util.*;
+
+/**
+ * A compact {@link IndexCache} which stores the elements and the indices in two parallel arrays using open addressing
+ * with linear probing. It doesn't create any <code>Integer</code> or entry object when caching an element, so each
+ * cached element only takes a slot in an <code>Object[]</code> and a slot in an <code>int[]</code> (plus the free
+ * slots kept by the load factor). {@link #adjustIndices(int, int)} updates the indices in place in one pass over the
+ * array.
+ * <p/>
+ * Elements are compared by identity, just like <code>IdentityHashMap</code>. The iterators of the collection views don't
+ * support removal. This class is not synchronized.
+ */
+public class IntIndexCache extends AbstractMap<Object, Integer> implements IndexCache {
+    private static final int DEFAULT_CAPACITY = 32;
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] _keys;
+    private int[] _values;
+    private int _size;
+    private int _threshold;
+
+    public IntIndexCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an <code>IntIndexCache</code> which can hold the expected number of elements without growing.
+     *
+     * @param expectedSize the expected number of elements.
+     */
+    public IntIndexCache(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * 2 / 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        _keys = new Object[capacity];
+        _values = new int[capacity];
+        _threshold = capacity * 2 / 3;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    private static int hash(Object key, int length) {
+        int h = System.identityHashCode(key);
+        // identityHashCode often has poor low bits, so spread them before masking
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & (length - 1);
+    }
+
+    private int findSlot(Object key) {
+        Object[] keys = _keys;
+        int i = hash(key, keys.length);
+        while (true) {
+            Object k = keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == null) {
+                return -1;
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+    }
+
+    public int getIndex(Object element) {
+        int slot = findSlot(maskNull(element));
+        return slot == -1 ? -1 : _values[slot];
+    }
+
+    public void putIndex(Object element, int index) {
+        Object key = maskNull(element);
+        Object[] keys = _keys;
+        int i = hash(key, keys.length);
+        while (keys[i] != null) {
+            if (keys[i] == key) {
+                _values[i] = index;
+                return;
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        keys[i] = key;
+        _values[i] = index;
+        if (++_size > _threshold) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        Object[] oldKeys = _keys;
+        int[] oldValues = _values;
+        allocate(oldKeys.length * 2);
+        Object[] keys = _keys;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                int i = hash(key, keys.length);
+                while (keys[i] != null) {
+                    i = (i + 1) & (keys.length - 1);
+                }
+                keys[i] = key;
+                _values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void removeSlot(int i) {
+        Object[] keys = _keys;
+        int mask = keys.length - 1;
+        keys[i] = null;
+        _size--;
+        // shift back the following entries of the probe sequence so that lookups never stop at the hole
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            Object key = keys[j];
+            if (key == null) {
+                return;
+            }
+            int h = hash(key, keys.length);
+            if (i <= j ? (h <= i || h > j) : (h <= i && h > j)) {
+                keys[i] = key;
+                _values[i] = _values[j];
+                keys[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    public void adjustIndices(int index, int increase) {
+        // the values of the empty slots are never read, so there is no need to check the keys. The mask is -1 when
+        // the value is greater than or equal to index, which avoids a hard to predict branch.
+        int[] values = _values;
+        for (int i = 0; i < values.length; i++) {
+            int value = values[i];
+            values[i] = value + (((index - 1 - value) >> 31) & increase);
+        }
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot(maskNull(key)) != -1;
+    }
+
+    @Override
+    public Integer get(Object key) {
+        int slot = findSlot(maskNull(key));
+        return slot == -1 ? null : _values[slot];
+    }
+
+    @Override
+    public Integer put(Object key, Integer value) {
+        int slot = findSlot(maskNull(key));
+        Integer oldValue = slot == -1 ? null : _values[slot];
+        putIndex(key, value);
+        return oldValue;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        int slot = findSlot(maskNull(key));
+        if (slot == -1) {
+            return null;
+        }
+        int oldValue = _values[slot];
+        removeSlot(slot);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(_keys, null);
+        _size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Integer>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, Integer>>() {
+            @Override
+            public Iterator<Map.Entry<Object, Integer>> iterator() {
+                return new Iterator<Map.Entry<Object, Integer>>() {
+                    private int _next = advance(0);
+
+                    private int advance(int i) {
+                        while (i < _keys.length && _keys[i] == null) {
+                            i++;
+                        }
+                        return i;
+                    }
+
+                    public boolean hasNext() {
+                        return _next < _keys.length;
+                    }
+
+                    public Map.Entry<Object, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<Object, Integer> entry = new Entry(unmaskNull(_keys[_next]), _values[_next]);
+                        _next = advance(_next + 1);
+                        return entry;
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return _size;
+            }
+        };
+    }
+
+    private static class Entry implements Map.Entry<Object, Integer> {
+        private final Object _key;
+        private final int _value;
+
+        Entry(Object key, int value) {
+            _key = key;
+            _value = value;
+        }
+
+        public Object getKey() {
+            return _key;
+        }
+
+        public Integer getValue() {
+            return _value;
+        }
+
+        public Integer setValue(Integer value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return _key == e.getKey() && getValue().equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(_key) ^ _value;
+        }
+
+        @Override
+        public String toString() {
+            return _key + "=" + _value;
+        }
+    }
+}
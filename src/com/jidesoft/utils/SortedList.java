@@ -9,6 +9,11 @@ package com.jidesoft.utils;
 import java.util.*;
 
 /**
+ * A <code>List</code> which keeps its elements sorted using the comparator. The position of a new element is found
+ * using binary search. {@link #indexOf(Object)}, {@link #lastIndexOf(Object)} and {@link #contains(Object)} also use
+ * binary search, so they expect the delegate list to stay sorted. Don't call {@link #set(int, Object)} or modify the
+ * delegate list directly with values that break the order.
+ *
  * @author Patrick Gotthardt
  */
 public class SortedList<E> implements List<E> {
@@ -26,23 +31,97 @@ public class SortedList<E> implements List<E> {
     }
 
     public boolean add(E o) {
+        delegate.add(upperBound(o), o);
+        return true;
+    }
+
+    /**
+     * Adds all the elements in the collection. The elements are sorted first, then merged with the existing elements in
+     * one pass. Elements which are equal to existing elements according to the comparator are added after them.
+     *
+     * @param c the elements to be added
+     * @return true if the list changed.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        int count = c.size();
+        if (count == 0) {
+            return false;
+        }
+        if (count == 1) {
+            return add(c.iterator().next());
+        }
+
+        E[] added = (E[]) c.toArray();
+        Arrays.sort(added, comparator);
+
         int size = delegate.size();
-        for (int i = 0; i < size; i++) {
-            if (comparator.compare(delegate.get(i), o) > 0) {
-                delegate.add(i, o);
-                return true;
+        if (size == 0 || comparator.compare(delegate.get(size - 1), added[0]) <= 0) {
+            delegate.addAll(Arrays.asList(added));
+            return true;
+        }
+
+        List<E> merged = new ArrayList<E>(size + count);
+        int i = 0;
+        for (E e : delegate) {
+            while (i < count && comparator.compare(e, added[i]) > 0) {
+                merged.add(added[i++]);
             }
+            merged.add(e);
+        }
+        while (i < count) {
+            merged.add(added[i++]);
         }
-        delegate.add(o);
+        delegate.clear();
+        delegate.addAll(merged);
         return true;
     }
 
-    public boolean addAll(Collection<? extends E> c) {
-        return delegate.addAll(c);
+    public boolean addAll(int index, Collection<? extends E> c) {
+        // no indexed insertion supported
+        return addAll(c);
     }
 
-    public boolean addAll(int index, Collection<? extends E> c) {
-        return delegate.addAll(index, c);
+    /**
+     * Gets the index of the first element which is greater than the specified element.
+     *
+     * @param o the element
+     * @return the index where the element should be inserted.
+     */
+    private int upperBound(E o) {
+        int low = 0;
+        int high = delegate.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(delegate.get(mid), o) > 0) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index of the first element which is not less than the specified element.
+     *
+     * @param o the element
+     * @return the index of the first element which could be equal to the specified element.
+     */
+    private int lowerBound(E o) {
+        int low = 0;
+        int high = delegate.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(delegate.get(mid), o) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     public void clear() {
@@ -50,7 +129,7 @@ public class SortedList<E> implements List<E> {
     }
 
     public boolean contains(Object o) {
-        return delegate.contains(o);
+        return indexOf(o) != -1;
     }
 
     public boolean containsAll(Collection<?> c) {
@@ -71,8 +150,45 @@ public class SortedList<E> implements List<E> {
         return delegate.hashCode();
     }
 
+    /**
+     * Gets the index of the element using binary search. Only the elements which are equal to it according to the
+     * comparator are checked with <code>equals</code>. As the comparator may not accept them, null and an element of a
+     * different class than the elements in the list are never found.
+     *
+     * @param o the element
+     * @return the index of the first occurrence of the element. -1 if not found.
+     */
+    @SuppressWarnings("unchecked")
     public int indexOf(Object o) {
-        return delegate.indexOf(o);
+        if (!isComparable(o)) {
+            return -1;
+        }
+        int size = delegate.size();
+        for (int i = lowerBound((E) o); i < size; i++) {
+            E e = delegate.get(i);
+            if (comparator.compare(e, (E) o) != 0) {
+                break;
+            }
+            if (o.equals(e)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the element can be passed to the comparator, that is it is not null and it is of the same class as, a
+     * subclass or a superclass of the elements in the list.
+     *
+     * @param o the element
+     * @return true if the element can be compared with the elements in the list.
+     */
+    private boolean isComparable(Object o) {
+        if (o == null || delegate.isEmpty()) {
+            return false;
+        }
+        E first = delegate.get(0);
+        return first == null || first.getClass().isInstance(o) || o.getClass().isInstance(first);
     }
 
     public boolean isEmpty() {
@@ -83,8 +199,27 @@ public class SortedList<E> implements List<E> {
         return delegate.iterator();
     }
 
+    /**
+     * Gets the last index of the element using binary search, just like {@link #indexOf(Object)}.
+     *
+     * @param o the element
+     * @return the index of the last occurrence of the element. -1 if not found.
+     */
+    @SuppressWarnings("unchecked")
     public int lastIndexOf(Object o) {
-        return delegate.lastIndexOf(o);
+        if (!isComparable(o)) {
+            return -1;
+        }
+        for (int i = upperBound((E) o) - 1; i >= 0; i--) {
+            E e = delegate.get(i);
+            if (comparator.compare(e, (E) o) != 0) {
+                break;
+            }
+            if (o.equals(e)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public ListIterator<E> listIterator() {
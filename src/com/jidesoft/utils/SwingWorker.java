@@ -10,6 +10,7 @@ package com.jidesoft.utils;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.lang.reflect.Method;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
@@ -153,9 +154,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * System.out.println(task.get()); //prints all prime numbers we have got
  * </pre>
  * <p/>
- * <p/>
  * Because {@code SwingWorker} implements {@code Runnable}, a {@code SwingWorker} can be submitted to an {@link
  * java.util.concurrent.Executor} for execution.
+ * <p/>
+ * By default, {@link #execute} runs the {@code SwingWorker} on a shared pool of at most 10 threads. A different {@code
+ * Executor} can be set for all {@code SwingWorkers} using {@link #setDefaultExecutor} or for one {@code SwingWorker}
+ * using {@link #setExecutor}. For many I/O bound {@code SwingWorkers}, {@link #createVirtualThreadExecutor} creates an
+ * {@code Executor} which starts a virtual thread per task if the JDK supports it.
  *
  * @author Igor Kushnirskiy
  * @version $Revision: 1.5 $ $Date: 2007/03/01 19:55:54 $
@@ -204,6 +209,41 @@ public abstract class SwingWorker<T, V> implements Future<T>, Runnable {
 
     private static ExecutorService executorService = null;
 
+    /**
+     * the executor for all {@code SwingWorkers} set by {@link #setDefaultExecutor}.
+     */
+    private static Executor defaultExecutor = null;
+
+    /**
+     * the delay in ms to coalesce the {@code process} and property change notifications.
+     */
+    private static volatile int publishInterval = 1000 / 30;
+
+    private static final AtomicInteger queuedWorkerCount = new AtomicInteger();
+    private static final AtomicInteger runningWorkerCount = new AtomicInteger();
+
+    private static final int PHASE_PENDING = 0;
+    private static final int PHASE_QUEUED = 1;
+    private static final int PHASE_RUNNING = 2;
+    private static final int PHASE_FINISHED = 3;
+
+    /**
+     * where this worker is for the monitoring: pending, queued, running or finished.
+     */
+    private final AtomicInteger phase = new AtomicInteger(PHASE_PENDING);
+
+    /**
+     * the times in ns when this worker was submitted, started and finished.
+     */
+    private volatile long submitTime;
+    private volatile long startTime;
+    private volatile long finishTime;
+
+    /**
+     * the executor for this worker set by {@link #setExecutor}.
+     */
+    private volatile Executor executor;
+
     /**
      * Values for the {@code state} bound property.
      */
@@ -232,14 +272,24 @@ public abstract class SwingWorker<T, V> implements Future<T>, Runnable {
         Callable<T> callable =
                 new Callable<T>() {
                     public T call() throws Exception {
-                        setState(StateValue.STARTED);
-                        return doInBackground();
+                        started();
+                        try {
+                            setState(StateValue.STARTED);
+                            return doInBackground();
+                        }
+                        finally {
+                            finished();
+                        }
                     }
                 };
 
         future = new FutureTask<T>(callable) {
             @Override
             protected void done() {
+                // cancelled before it was started
+                if (phase.compareAndSet(PHASE_QUEUED, PHASE_FINISHED)) {
+                    queuedWorkerCount.decrementAndGet();
+                }
                 doneEDT();
                 setState(StateValue.DONE);
             }
@@ -453,7 +503,193 @@ public abstract class SwingWorker<T, V> implements Future<T>, Runnable {
      * will not result in invoking the {@code doInBackground} method twice.
      */
     public final void execute() {
-        getWorkersExecutorService().execute(this);
+        Executor executor = getExecutor();
+        if (executor == null) {
+            executor = getDefaultExecutor();
+        }
+        if (executor == null) {
+            executor = getWorkersExecutorService();
+        }
+        if (phase.compareAndSet(PHASE_PENDING, PHASE_QUEUED)) {
+            submitTime = System.nanoTime();
+            queuedWorkerCount.incrementAndGet();
+        }
+        try {
+            executor.execute(this);
+        }
+        catch (RuntimeException e) {
+            if (phase.compareAndSet(PHASE_QUEUED, PHASE_PENDING)) {
+                queuedWorkerCount.decrementAndGet();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the {@code Executor} used by {@link #execute} for this {@code SwingWorker}.
+     *
+     * @return the {@code Executor}. null if the default one is used.
+     */
+    public final Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the {@code Executor} used by {@link #execute} for this {@code SwingWorker}. If null, the {@code Executor}
+     * set by {@link #setDefaultExecutor} or the shared pool of worker threads is used.
+     *
+     * @param executor the {@code Executor}
+     */
+    public final void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the {@code Executor} used by {@link #execute} for all {@code SwingWorkers} that don't have their own.
+     *
+     * @return the {@code Executor}. null if the shared pool of worker threads is used.
+     */
+    public static synchronized Executor getDefaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /**
+     * Sets the {@code Executor} used by {@link #execute} for all {@code SwingWorkers} that don't have their own. If
+     * null, the shared pool of at most 10 worker threads is used.
+     *
+     * @param executor the {@code Executor}
+     */
+    public static synchronized void setDefaultExecutor(Executor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Checks if the JDK supports virtual threads.
+     *
+     * @return true if {@link #createVirtualThreadExecutor} can create an {@code Executor}. Otherwise false.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return getVirtualThreadExecutorFactory() != null;
+    }
+
+    /**
+     * Creates an {@code ExecutorService} which starts a new virtual thread for each task. It is a good fit for many I/O
+     * bound {@code SwingWorkers} running at the same time. Virtual threads are only available in JDK 21 or above. This
+     * method uses reflection so that it can be called on any JDK.
+     *
+     * @return the {@code ExecutorService}. null if the JDK doesn't support virtual threads.
+     */
+    public static ExecutorService createVirtualThreadExecutor() {
+        Method factory = getVirtualThreadExecutorFactory();
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Method getVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the interval in ms to coalesce the {@code process} calls and the property change notifications of all
+     * {@code SwingWorkers}.
+     *
+     * @return the interval in ms.
+     */
+    public static int getPublishInterval() {
+        return publishInterval;
+    }
+
+    /**
+     * Sets the interval in ms to coalesce the {@code process} calls and the property change notifications of all
+     * {@code SwingWorkers}. The chunks published within the interval are passed to {@code process} in one call. A
+     * shorter interval updates the UI sooner but more often. Default is 33 ms, about 30 times a second.
+     *
+     * @param interval the interval in ms. 0 to process on the next event.
+     */
+    public static void setPublishInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("the interval should not be negative");
+        }
+        publishInterval = interval;
+    }
+
+    /**
+     * Gets the number of {@code SwingWorkers} which were executed by {@link #execute} but haven't been started by
+     * their {@code Executors} yet.
+     *
+     * @return the number of queued {@code SwingWorkers}.
+     */
+    public static int getQueuedWorkerCount() {
+        return queuedWorkerCount.get();
+    }
+
+    /**
+     * Gets the number of {@code SwingWorkers} whose {@code doInBackground} methods are running.
+     *
+     * @return the number of running {@code SwingWorkers}.
+     */
+    public static int getRunningWorkerCount() {
+        return runningWorkerCount.get();
+    }
+
+    /**
+     * Gets how long this {@code SwingWorker} waited in the queue of its {@code Executor} before it started. If it
+     * hasn't started yet, it is the time it has waited so far.
+     *
+     * @return the time in ms. 0 if it wasn't executed by {@link #execute}.
+     */
+    public final long getQueueTime() {
+        long submitted = submitTime;
+        if (submitted == 0) {
+            return 0;
+        }
+        long started = startTime;
+        return ((started != 0 ? started : System.nanoTime()) - submitted) / 1000000;
+    }
+
+    /**
+     * Gets how long the {@code doInBackground} method of this {@code SwingWorker} ran. If it is still running, it is
+     * the time it has run so far.
+     *
+     * @return the time in ms. 0 if it hasn't started.
+     */
+    public final long getRunTime() {
+        long started = startTime;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = finishTime;
+        return ((finished != 0 ? finished : System.nanoTime()) - started) / 1000000;
+    }
+
+    private void started() {
+        startTime = System.nanoTime();
+        if (phase.compareAndSet(PHASE_QUEUED, PHASE_RUNNING)) {
+            queuedWorkerCount.decrementAndGet();
+            runningWorkerCount.incrementAndGet();
+        }
+        else if (phase.compareAndSet(PHASE_PENDING, PHASE_RUNNING)) {
+            runningWorkerCount.incrementAndGet();
+        }
+    }
+
+    private void finished() {
+        finishTime = System.nanoTime();
+        if (phase.compareAndSet(PHASE_RUNNING, PHASE_FINISHED)) {
+            runningWorkerCount.decrementAndGet();
+        }
     }
 
     // Future methods START
@@ -783,7 +1019,6 @@ public abstract class SwingWorker<T, V> implements Future<T>, Runnable {
 
     private static class DoSubmitAccumulativeRunnable
             extends AccumulativeRunnable<Runnable> implements ActionListener {
-        private static final int DELAY = (int) (1000 / 30);
 
         @Override
         protected void run(List<Runnable> args) {
@@ -794,7 +1029,7 @@ public abstract class SwingWorker<T, V> implements Future<T>, Runnable {
 
         @Override
         protected void submit() {
-            Timer timer = new Timer(DELAY, this);
+            Timer timer = new Timer(publishInterval, this);
             timer.setRepeats(false);
             timer.start();
         }
@@ -0,0 +1,309 @@
+/*
+ * @(#)TreeIndexCache.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package com.jidesoft.utils;
+
+import java.util.*;
+
+/**
+ * An {@link IndexCache} which keeps the cached elements in a balanced tree (a treap) ordered by index. Each subtree
+ * has a pending offset which is added to all the indices in it, so {@link #adjustIndices(int, int)} only splits the tree
+ * at the index, changes the offset of one subtree and joins the tree again. It takes O(log n) time no matter how many
+ * elements are cached. Looking up an index takes O(log n) time as well.
+ * <p/>
+ * Elements are compared by identity, just like <code>IdentityHashMap</code>. This class is not synchronized.
+ */
+public class TreeIndexCache extends AbstractMap<Object, Integer> implements IndexCache {
+    private final Map<Object, Node> _nodes = new IdentityHashMap<Object, Node>();
+    private Node _root;
+    private int _seed = 0x2545F491;
+
+    // the results of split(Node, int)
+    private Node _splitLeft;
+    private Node _splitRight;
+
+    private static final class Node implements Map.Entry<Object, Integer> {
+        final Object element;
+        final int priority;
+        int index;
+        int offset;
+        Node left;
+        Node right;
+        Node parent;
+
+        Node(Object element, int index, int priority) {
+            this.element = element;
+            this.index = index;
+            this.priority = priority;
+        }
+
+        int getIndex() {
+            int index = this.index;
+            for (Node n = this; n != null; n = n.parent) {
+                index += n.offset;
+            }
+            return index;
+        }
+
+        public Object getKey() {
+            return element;
+        }
+
+        public Integer getValue() {
+            return getIndex();
+        }
+
+        public Integer setValue(Integer value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return element == e.getKey() && getValue().equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(element) ^ getIndex();
+        }
+
+        @Override
+        public String toString() {
+            return element + "=" + getIndex();
+        }
+    }
+
+    @Override
+    public int size() {
+        return _nodes.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return _nodes.containsKey(key);
+    }
+
+    @Override
+    public Integer get(Object key) {
+        Node node = _nodes.get(key);
+        return node != null ? node.getIndex() : null;
+    }
+
+    @Override
+    public Integer put(Object key, Integer value) {
+        Node old = _nodes.get(key);
+        Integer oldValue = old != null ? old.getIndex() : null;
+        putIndex(key, value);
+        return oldValue;
+    }
+
+    public int getIndex(Object element) {
+        Node node = _nodes.get(element);
+        return node != null ? node.getIndex() : -1;
+    }
+
+    public void putIndex(Object element, int index) {
+        Node old = _nodes.get(element);
+        if (old != null) {
+            removeNode(old);
+        }
+        Node node = new Node(element, index, nextPriority());
+        _nodes.put(element, node);
+        split(_root, index);
+        Node right = _splitRight;
+        _root = merge(merge(_splitLeft, node), right);
+        _root.parent = null;
+        _splitLeft = _splitRight = null;
+    }
+
+    @Override
+    public Integer remove(Object key) {
+        Node node = _nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        int index = node.getIndex();
+        removeNode(node);
+        return index;
+    }
+
+    @Override
+    public void clear() {
+        _nodes.clear();
+        _root = null;
+    }
+
+    public void adjustIndices(int index, int increase) {
+        if (_root == null || increase == 0) {
+            return;
+        }
+        split(_root, index);
+        Node left = _splitLeft;
+        Node right = _splitRight;
+        _splitLeft = _splitRight = null;
+        if (right != null) {
+            right.offset += increase;
+        }
+        _root = merge(left, right);
+        if (_root != null) {
+            _root.parent = null;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Object, Integer>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, Integer>>() {
+            @Override
+            public Iterator<Map.Entry<Object, Integer>> iterator() {
+                final Iterator<Node> iterator = _nodes.values().iterator();
+                return new Iterator<Map.Entry<Object, Integer>>() {
+                    private Node _current;
+
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    public Map.Entry<Object, Integer> next() {
+                        _current = iterator.next();
+                        return _current;
+                    }
+
+                    public void remove() {
+                        iterator.remove();
+                        removeNode(_current);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return _nodes.size();
+            }
+
+            @Override
+            public void clear() {
+                TreeIndexCache.this.clear();
+            }
+        };
+    }
+
+    private int nextPriority() {
+        // xorshift, good enough to keep the tree balanced
+        int x = _seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        _seed = x;
+        return x;
+    }
+
+    /**
+     * Applies the pending offset of the node to its own index and passes it to its children.
+     *
+     * @param node the node
+     */
+    private static void push(Node node) {
+        if (node.offset != 0) {
+            node.index += node.offset;
+            if (node.left != null) {
+                node.left.offset += node.offset;
+            }
+            if (node.right != null) {
+                node.right.offset += node.offset;
+            }
+            node.offset = 0;
+        }
+    }
+
+    private static void pushPath(Node node) {
+        if (node.parent != null) {
+            pushPath(node.parent);
+        }
+        push(node);
+    }
+
+    /**
+     * Splits the tree into the nodes whose index is less than the specified index and the rest. The results are stored
+     * in _splitLeft and _splitRight.
+     *
+     * @param node  the root of the tree.
+     * @param index the index.
+     */
+    private void split(Node node, int index) {
+        if (node == null) {
+            _splitLeft = _splitRight = null;
+            return;
+        }
+        push(node);
+        if (node.index < index) {
+            split(node.right, index);
+            node.right = _splitLeft;
+            if (node.right != null) {
+                node.right.parent = node;
+            }
+            _splitLeft = node;
+        }
+        else {
+            split(node.left, index);
+            node.left = _splitRight;
+            if (node.left != null) {
+                node.left.parent = node;
+            }
+            _splitRight = node;
+        }
+        node.parent = null;
+    }
+
+    /**
+     * Merges two trees. All the indices in the first tree must be less than or equal to the indices in the second tree.
+     *
+     * @param left  the first tree
+     * @param right the second tree
+     * @return the root of the merged tree.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            push(left);
+            left.right = merge(left.right, right);
+            left.right.parent = left;
+            return left;
+        }
+        else {
+            push(right);
+            right.left = merge(left, right.left);
+            right.left.parent = right;
+            return right;
+        }
+    }
+
+    private void removeNode(Node node) {
+        pushPath(node);
+        Node child = merge(node.left, node.right);
+        Node parent = node.parent;
+        if (child != null) {
+            child.parent = parent;
+        }
+        if (parent == null) {
+            _root = child;
+        }
+        else if (parent.left == node) {
+            parent.left = child;
+        }
+        else {
+            parent.right = child;
+        }
+        node.left = node.right = node.parent = null;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * @(#)TestAlphanumComparator.java 10/17/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package com.jidesoft.comparator;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestAlphanumComparator extends TestCase {
+    private static final String CHARS = "0123456789aAbBzZ.-_ \u00e9\u00c9\u0130\u0131\u4e2d";
+
+    public void testSort() {
+        String[] values = {"a10", "a2", "a1c10", "a1", "a1c2", "b3", "10.doc", "2.doc", "A2"};
+        Arrays.sort(values, new AlphanumComparator());
+        assertEquals(Arrays.asList("2.doc", "10.doc", "A2", "a1", "a1c2", "a1c10", "a2", "a10", "b3"), Arrays.asList(values));
+    }
+
+    public void testCompareMatchesChunks() {
+        Random random = new Random(0);
+        for (boolean caseSensitive : new boolean[]{true, false}) {
+            AlphanumComparator comparator = new AlphanumComparator(caseSensitive);
+            for (int i = 0; i < 20000; i++) {
+                String s1 = randomString(random);
+                String s2 = random.nextInt(4) == 0 ? s1.toUpperCase() : randomString(random);
+                int expected = signum(compareChunks(s1, s2, caseSensitive));
+                assertEquals(s1 + " vs " + s2, expected, signum(comparator.compare(s1, s2)));
+                assertEquals(s1 + " vs " + s2, expected, signum(comparator.getKey(s1).compareTo(comparator.getKey(s2))));
+            }
+        }
+    }
+
+    public void testKey() {
+        AlphanumComparator comparator = new AlphanumComparator(false);
+        assertEquals(comparator.getKey("File10"), comparator.getKey("file10"));
+        assertEquals(comparator.getKey("File10").hashCode(), comparator.getKey("file10").hashCode());
+        assertTrue(comparator.getKey("file9").compareTo(comparator.getKey("file10")) < 0);
+        assertTrue(comparator.getKey("file").compareTo(comparator.getKey("file1")) < 0);
+        assertEquals("file9", comparator.getKey("file9").getSource());
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(8);
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            buf.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return buf.toString();
+    }
+
+    private static int signum(int i) {
+        return i < 0 ? -1 : i > 0 ? 1 : 0;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static String getChunk(String s, int marker) {
+        int end = marker + 1;
+        while (end < s.length() && isDigit(s.charAt(end)) == isDigit(s.charAt(marker))) {
+            end++;
+        }
+        return s.substring(marker, end);
+    }
+
+    // the chunk based algorithm AlphanumComparator used to implement
+    private static int compareChunks(String s1, String s2, boolean caseSensitive) {
+        int thisMarker = 0;
+        int thatMarker = 0;
+        while (thisMarker < s1.length() && thatMarker < s2.length()) {
+            String thisChunk = getChunk(s1, thisMarker);
+            thisMarker += thisChunk.length();
+            String thatChunk = getChunk(s2, thatMarker);
+            thatMarker += thatChunk.length();
+
+            int result;
+            if (isDigit(thisChunk.charAt(0)) && isDigit(thatChunk.charAt(0))) {
+                result = thisChunk.length() - thatChunk.length();
+                if (result == 0) {
+                    result = thisChunk.compareTo(thatChunk);
+                }
+            }
+            else {
+                result = caseSensitive ? thisChunk.compareTo(thatChunk) : thisChunk.compareToIgnoreCase(thatChunk);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return s1.length() - s2.length();
+    }
+}
@@ -0,0 +1,60 @@
+package com.jidesoft.converter;
+
+import junit.framework.TestCase;
+
+public class TestCacheMap extends TestCase {
+    public void testResolvedCache() {
+        CacheMap<String, String> cacheMap = new CacheMap<String, String>("");
+        assertNull(cacheMap.getRegisteredObject(Integer.class, ""));
+        assertNull(cacheMap.getRegisteredObject(Integer.class, ""));
+
+        cacheMap.register(Number.class, "number", "");
+        assertEquals("number", cacheMap.getRegisteredObject(Integer.class, ""));
+        assertEquals("number", cacheMap.getRegisteredObject(Integer.class, "other"));
+
+        cacheMap.register(Integer.class, "integer", "other");
+        assertEquals("number", cacheMap.getRegisteredObject(Integer.class, ""));
+        assertEquals("integer", cacheMap.getRegisteredObject(Integer.class, "other"));
+
+        cacheMap.unregister(Integer.class, "other");
+        assertEquals("number", cacheMap.getRegisteredObject(Integer.class, "other"));
+
+        cacheMap.remove(Number.class);
+        assertNull(cacheMap.getRegisteredObject(Integer.class, ""));
+
+        cacheMap.register(Object.class, "object", "");
+        assertEquals("object", cacheMap.getRegisteredObject(Integer.class, ""));
+        cacheMap.clear();
+        assertNull(cacheMap.getRegisteredObject(Integer.class, ""));
+    }
+
+    public void testConcurrent() throws InterruptedException {
+        final CacheMap<String, String> cacheMap = new CacheMap<String, String>("", true);
+        cacheMap.register(Number.class, "number", "");
+        final boolean[] failed = new boolean[1];
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 100000; j++) {
+                        Object object = cacheMap.getRegisteredObject(Integer.class, j % 2 == 0 ? "" : null);
+                        if (!"number".equals(object) && !"integer".equals(object)) {
+                            failed[0] = true;
+                        }
+                    }
+                }
+            };
+            readers[i].start();
+        }
+        for (int i = 0; i < 1000; i++) {
+            cacheMap.register(Integer.class, "integer", "");
+            cacheMap.unregister(Integer.class, "");
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertFalse(failed[0]);
+        assertEquals("number", cacheMap.getRegisteredObject(Integer.class, ""));
+    }
+}
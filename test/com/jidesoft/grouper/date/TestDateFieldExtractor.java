@@ -0,0 +1,44 @@
+package com.jidesoft.grouper.date;
+
+import junit.framework.TestCase;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class TestDateFieldExtractor extends TestCase {
+    private static final int[] FIELDS = {
+            Calendar.YEAR, Calendar.MONTH, Calendar.WEEK_OF_YEAR, Calendar.WEEK_OF_MONTH, Calendar.DAY_OF_MONTH,
+            Calendar.DAY_OF_YEAR, Calendar.DAY_OF_WEEK, Calendar.DAY_OF_WEEK_IN_MONTH, Calendar.HOUR_OF_DAY
+    };
+
+    public void testFields() {
+        String[] zones = {"UTC", "America/New_York", "Europe/Berlin", "Australia/Lord_Howe", "Asia/Kolkata"};
+        Random random = new Random(0);
+        for (String id : zones) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            DateFieldExtractor extractor = new DateFieldExtractor(zone, Locale.US);
+            Calendar calendar = Calendar.getInstance(zone, Locale.US);
+            long base = -5000L * 24 * 60 * 60 * 1000;
+            for (int i = 0; i < 20000; i++) {
+                // mix random times with times close to each other to hit the cache
+                long millis = i % 2 == 0 ? base + (long) (random.nextDouble() * 20000L * 24 * 60 * 60 * 1000) : base + i * 17L * 60 * 1000;
+                calendar.setTimeInMillis(millis);
+                for (int field : FIELDS) {
+                    assertEquals(id + " " + millis + " " + field, calendar.get(field), extractor.get(millis, field));
+                    assertEquals(calendar.get(field), extractor.getValue(millis, field).intValue());
+                }
+            }
+        }
+    }
+
+    public void testGrouper() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2011, Calendar.MAY, 17);
+        assertEquals(2011, new DateYearGrouper().getValue(calendar.getTime()));
+        assertEquals(2011, new DateYearGrouper().getValue(calendar.getTimeInMillis()));
+        assertEquals(1, new DateQuarterGrouper().getValue(calendar.getTimeInMillis()));
+        assertEquals(Calendar.MAY, DateGrouper.getCalendarFieldAsInt(calendar.getTime(), Calendar.MONTH));
+    }
+}
@@ -0,0 +1,163 @@
+package com.jidesoft.hints;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import javax.swing.text.JTextComponent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+public class TestAbstractIntelliHints extends TestCase {
+    private JTextField _textField;
+    private TestHints _hints;
+    private QueueExecutor _executor;
+
+    /**
+     * An executor which only runs the tasks when the test asks for it.
+     */
+    private static class QueueExecutor implements Executor {
+        private final List<Runnable> _tasks = Collections.synchronizedList(new ArrayList<Runnable>());
+
+        public void execute(Runnable command) {
+            _tasks.add(command);
+        }
+
+        Runnable next() {
+            return _tasks.remove(0);
+        }
+
+        int size() {
+            return _tasks.size();
+        }
+    }
+
+    private static class TestHints extends AbstractListIntelliHints {
+        // the contexts whose hints were published, in order
+        final List<Object> published = Collections.synchronizedList(new ArrayList<Object>());
+        volatile boolean computedOnEventDispatchThread;
+        volatile boolean publishedOffEventDispatchThread;
+        volatile boolean publishedInsideUpdateHints;
+        volatile CountDownLatch blocker;
+
+        TestHints(JTextComponent textComponent) {
+            super(textComponent);
+        }
+
+        public boolean updateHints(final Object context) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                computedOnEventDispatchThread = true;
+            }
+            CountDownLatch latch = blocker;
+            while (latch != null && latch.getCount() > 0) {
+                try {
+                    latch.await();
+                }
+                catch (InterruptedException e) {
+                    // the cancellation interrupts the thread, keep computing the stale result anyway
+                }
+            }
+            setListData(new Object[]{context});
+            int count = published.size();
+            updateHintsComponent(new Runnable() {
+                public void run() {
+                    if (!SwingUtilities.isEventDispatchThread()) {
+                        publishedOffEventDispatchThread = true;
+                    }
+                    published.add(context);
+                }
+            });
+            if (published.size() != count) {
+                publishedInsideUpdateHints = true;
+            }
+            // no hints so that the popup is never shown
+            return false;
+        }
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        _executor = new QueueExecutor();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                _textField = new JTextField();
+                _hints = new TestHints(_textField);
+                _hints.setAsynchronous(true);
+                _hints.setHintsExecutor(_executor);
+            }
+        });
+    }
+
+    private void showHints(final String text) throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                _textField.setText(text);
+                _hints.showHints();
+            }
+        });
+    }
+
+    private static void flushEventDispatchThread() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+            }
+        });
+    }
+
+    public void testPublish() throws Exception {
+        showHints("a");
+        assertEquals(1, _executor.size());
+        assertTrue(_hints.published.isEmpty());
+
+        // the hints are computed on this thread, the updates are deferred to the event dispatch thread
+        _executor.next().run();
+        flushEventDispatchThread();
+        assertEquals(Collections.<Object>singletonList("a"), _hints.published);
+        assertEquals("a", _hints.getList().getModel().getElementAt(0));
+        assertFalse(_hints.computedOnEventDispatchThread);
+        assertFalse(_hints.publishedInsideUpdateHints);
+        assertFalse(_hints.publishedOffEventDispatchThread);
+    }
+
+    public void testSupersededContext() throws Exception {
+        _hints.blocker = new CountDownLatch(1);
+        showHints("a");
+        final Runnable first = _executor.next();
+        Thread thread = new Thread(first);
+        thread.start();
+
+        // a new context while the hints of the first one are still being computed
+        showHints("b");
+        Runnable second = _executor.next();
+        _hints.blocker.countDown();
+        thread.join(10000);
+        assertFalse(thread.isAlive());
+        flushEventDispatchThread();
+        assertTrue(_hints.published.isEmpty());
+
+        second.run();
+        flushEventDispatchThread();
+        assertEquals(Collections.<Object>singletonList("b"), _hints.published);
+        assertEquals("b", _hints.getList().getModel().getElementAt(0));
+        assertFalse(_hints.publishedOffEventDispatchThread);
+    }
+
+    public void testCancelPendingPublish() throws Exception {
+        showHints("a");
+        final Runnable task = _executor.next();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                // the task posts the publish to the event dispatch thread, it can't run before this method returns
+                task.run();
+                _hints.cancelHintsUpdate();
+            }
+        });
+        flushEventDispatchThread();
+        assertTrue(_hints.published.isEmpty());
+        assertFalse(_hints.publishedInsideUpdateHints);
+        assertEquals(0, _hints.getList().getModel().getSize());
+    }
+}
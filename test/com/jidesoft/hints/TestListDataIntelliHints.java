@@ -0,0 +1,105 @@
+package com.jidesoft.hints;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+public class TestListDataIntelliHints extends TestCase {
+    private static final List<String> DATA = Arrays.asList("apple", "Apple", "APRICOT", "banana", "stra\u00dfe", "STRASSE",
+            "Stra\u00dfenbahn", "\u0130stanbul", "istanbul", "\u0131spanak", "Ispanak", "", null);
+
+    private static final String[] PREFIXES = {"", "a", "A", "ap", "APR", "b", "x", "s", "STRA", "stra\u00df", "STRASS", "i",
+            "I", "is", "IS", "\u0130", "\u0130s", "\u0131", "\u0131s"};
+
+    private ListDataIntelliHints<String> _hints;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // a LinkedList so that the index is built without accessing it by index
+        _hints = new ListDataIntelliHints<String>(new JTextField(), new LinkedList<String>(DATA));
+        _hints.createHintsComponent();
+    }
+
+    private List<String> getHints(String context) {
+        _hints.updateHints(context);
+        ListModel model = _hints.getList().getModel();
+        List<String> hints = new ArrayList<String>();
+        for (int i = 0; i < model.getSize(); i++) {
+            hints.add((String) model.getElementAt(i));
+        }
+        return hints;
+    }
+
+    private static List<String> sort(List<String> hints) {
+        List<String> sorted = new ArrayList<String>();
+        for (String hint : hints) {
+            sorted.add(String.valueOf(hint));
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private void checkSameHints(boolean caseSensitive) {
+        _hints.setCaseSensitive(caseSensitive);
+        for (String prefix : PREFIXES) {
+            _hints.setPrefixIndexEnabled(false);
+            List<String> linear = getHints(prefix);
+            _hints.setPrefixIndexEnabled(true);
+            List<String> indexed = getHints(prefix);
+            // the index returns the hints in alphabetical order instead of the order of the completion list
+            assertEquals(caseSensitive + " \"" + prefix + "\"", sort(linear), sort(indexed));
+        }
+    }
+
+    public void testCaseInsensitive() {
+        checkSameHints(false);
+        _hints.setPrefixIndexEnabled(true);
+        assertEquals(DATA.size(), getHints("").size());
+        assertEquals(Arrays.asList("APRICOT"), getHints("apr"));
+        // the characters are folded the same way as String.equalsIgnoreCase does
+        assertEquals(sort(Arrays.asList("\u0130stanbul", "istanbul", "\u0131spanak", "Ispanak")), sort(getHints("i")));
+        assertEquals(sort(Arrays.asList("stra\u00dfe", "Stra\u00dfenbahn")), sort(getHints("STRA\u00df")));
+        assertEquals(Arrays.asList("STRASSE"), getHints("strass"));
+    }
+
+    public void testCaseSensitive() {
+        checkSameHints(true);
+        _hints.setPrefixIndexEnabled(true);
+        assertEquals(Arrays.asList("apple"), getHints("a"));
+        assertEquals(Arrays.asList("\u0130stanbul"), getHints("\u0130"));
+        assertTrue(getHints("STRA\u00df").isEmpty());
+    }
+
+    public void testMaximumHintCount() {
+        for (boolean caseSensitive : new boolean[]{false, true}) {
+            _hints.setCaseSensitive(caseSensitive);
+            for (String prefix : PREFIXES) {
+                _hints.setMaximumHintCount(-1);
+                _hints.setPrefixIndexEnabled(false);
+                List<String> all = sort(getHints(prefix));
+
+                _hints.setMaximumHintCount(2);
+                List<String> linear = getHints(prefix);
+                _hints.setPrefixIndexEnabled(true);
+                List<String> indexed = getHints(prefix);
+                assertEquals(prefix, Math.min(2, all.size()), linear.size());
+                assertEquals(prefix, linear.size(), indexed.size());
+                assertTrue(prefix, all.containsAll(sort(indexed)));
+            }
+        }
+    }
+
+    public void testCompletionListChange() {
+        _hints.setPrefixIndexEnabled(true);
+        assertEquals(1, getHints("b").size());
+        _hints.setCompletionList(new String[]{"bear", "Beaver", "cat"});
+        assertEquals(sort(Arrays.asList("bear", "Beaver")), sort(getHints("BE")));
+        assertTrue(getHints("apple").isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * @(#)TestIconCache.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package com.jidesoft.icons;
+
+import com.jidesoft.dialog.ButtonPanel;
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TestIconCache extends TestCase {
+    private static final String FILE_NAME = "icons/blank-16.gif";
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        IconsFactory.getIconCache().clear();
+        IconsFactory.getIconCache().setMaximumSize(0);
+        IconsFactory.getIconCache().resetStatistics();
+    }
+
+    public void testVariants() {
+        IconCache cache = IconsFactory.getIconCache();
+        ImageIcon icon = IconsFactory.getImageIcon(ButtonPanel.class, FILE_NAME);
+        assertNotNull(icon);
+        assertSame(icon, IconsFactory.getImageIcon(ButtonPanel.class, FILE_NAME));
+        assertEquals(1, cache.getHitCount());
+
+        ImageIcon brighter = IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME);
+        ImageIcon brighter50 = IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME, 50);
+        assertNotSame(brighter, brighter50);
+        assertSame(brighter50, IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME, 50));
+        assertNotSame(brighter50, IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME, 20));
+        assertNotSame(icon, IconsFactory.getDisabledImageIcon(ButtonPanel.class, FILE_NAME));
+        assertEquals(5, cache.size());
+
+        // missing icons are not cached
+        assertNull(IconsFactory.getImageIcon(ButtonPanel.class, "icons/missing.gif"));
+        assertEquals(5, cache.size());
+    }
+
+    public void testMaximumSize() {
+        IconCache cache = IconsFactory.getIconCache();
+        cache.setMaximumSize(2);
+        ImageIcon icon = IconsFactory.getImageIcon(ButtonPanel.class, FILE_NAME);
+        IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME, 10);
+        IconsFactory.getBrighterImageIcon(ButtonPanel.class, FILE_NAME, 20);
+        assertEquals(2, cache.size());
+        // the first icon was removed
+        assertNotSame(icon, IconsFactory.getImageIcon(ButtonPanel.class, FILE_NAME));
+    }
+
+    public void testConcurrentLoading() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ImageIcon>> futures = new ArrayList<Future<ImageIcon>>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<ImageIcon>() {
+                    public ImageIcon call() throws Exception {
+                        return IconsFactory.getImageIcon(ButtonPanel.class, FILE_NAME);
+                    }
+                }));
+            }
+            ImageIcon icon = futures.get(0).get();
+            for (Future<ImageIcon> future : futures) {
+                assertSame(icon, future.get());
+            }
+            assertEquals(1, IconsFactory.getIconCache().size());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testPreload() throws Exception {
+        IconCache cache = IconsFactory.getIconCache();
+        int count = IconsFactory.preloadImageIcons(JideIconsFactory.class).get(30, TimeUnit.SECONDS);
+        assertTrue(count > 0);
+        assertEquals(count, cache.size());
+        ImageIcon icon = JideIconsFactory.getImageIcon(JideIconsFactory.FileType.JAVA);
+        assertEquals(1, cache.getHitCount());
+        assertTrue(icon.getImage() instanceof BufferedImage);
+
+        // the cached icons are not loaded again
+        assertEquals(0, IconsFactory.preloadImageIcons(JideIconsFactory.class).get().intValue());
+        assertSame(icon, JideIconsFactory.getImageIcon(JideIconsFactory.FileType.JAVA));
+    }
+}
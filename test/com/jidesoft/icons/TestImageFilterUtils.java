@@ -0,0 +1,84 @@
+/*
+ * @(#)TestImageFilterUtils.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package com.jidesoft.icons;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.FilteredImageSource;
+import java.awt.image.RGBImageFilter;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestImageFilterUtils extends TestCase {
+    private static BufferedImage createImage(int width, int height) {
+        Random random = new Random(0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // some opaque black pixels for the mask filter
+                image.setRGB(x, y, random.nextInt(8) == 0 ? 0xff000000 : random.nextInt());
+            }
+        }
+        return image;
+    }
+
+    // the lazy FilteredImageSource path the filters used to go through
+    private static BufferedImage filterWithProducer(Image image, RGBImageFilter filter) {
+        Image filtered = Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(image.getSource(), filter));
+        filtered = new ImageIcon(filtered).getImage();
+        BufferedImage result = new BufferedImage(filtered.getWidth(null), filtered.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = result.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(filtered, 0, 0, null);
+        g2d.dispose();
+        return result;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    public void testFilters() {
+        BufferedImage image = createImage(37, 23);
+        assertSamePixels(filterWithProducer(image, new ColorFilter(true, 40)), ImageFilterUtils.createBrighterImage(image, 40));
+        assertSamePixels(filterWithProducer(image, new ColorFilter(false, 20)), ImageFilterUtils.createDarkerImage(image, 20));
+        assertSamePixels(filterWithProducer(image, new GrayFilter(true, 50)), ImageFilterUtils.createGrayImage(image));
+        assertSamePixels(filterWithProducer(image, new MaskFilter(Color.black, Color.white)), ImageFilterUtils.createNegativeImage(image));
+        assertNull(ImageFilterUtils.createGrayImage(null));
+    }
+
+    public void testDefaultPercent() {
+        BufferedImage image = createImage(8, 8);
+        Image brighter = ColorFilter.createBrighterImage(image);
+        // a percentage given to one call no longer changes the default
+        ColorFilter.createBrighterImage(image, 80);
+        assertSamePixels((BufferedImage) brighter, (BufferedImage) ColorFilter.createBrighterImage(image));
+    }
+
+    public void testParallel() {
+        BufferedImage image = createImage(600, 500);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ColorFilter filter = new ColorFilter(true, 30);
+            assertSamePixels(ImageFilterUtils.filter(image, filter, null), ImageFilterUtils.filter(image, filter, executor));
+            assertSamePixels(ImageFilterUtils.filter(image, filter, null), ImageFilterUtils.filter(image, filter));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
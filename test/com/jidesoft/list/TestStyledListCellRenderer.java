@@ -0,0 +1,38 @@
+package com.jidesoft.list;
+
+import com.jidesoft.swing.StyleRange;
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import java.awt.*;
+
+public class TestStyledListCellRenderer extends TestCase {
+    public void testStyleRangesChangeLayout() {
+        final boolean[] bold = new boolean[1];
+        StyledListCellRenderer renderer = new StyledListCellRenderer() {
+            @Override
+            protected void customizeStyledLabel(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                super.customizeStyledLabel(list, value, index, isSelected, cellHasFocus);
+                clearStyleRanges();
+                if (bold[0]) {
+                    addStyleRange(new StyleRange(0, getText().length(), Font.BOLD));
+                }
+            }
+        };
+        JList list = new JList(new Object[]{"Styled Label"});
+        list.setFont(new Font("Dialog", Font.PLAIN, 12));
+
+        renderer.getListCellRendererComponent(list, "Styled Label", 0, false, false);
+        int plainWidth = renderer.getPreferredSize().width;
+
+        // the renderer doesn't fire the style range events, the layout must not be reused anyway
+        bold[0] = true;
+        renderer.getListCellRendererComponent(list, "Styled Label", 0, false, false);
+        int boldWidth = renderer.getPreferredSize().width;
+        assertTrue(plainWidth + " " + boldWidth, boldWidth > plainWidth);
+
+        bold[0] = false;
+        renderer.getListCellRendererComponent(list, "Styled Label", 0, false, false);
+        assertEquals(plainWidth, renderer.getPreferredSize().width);
+    }
+}
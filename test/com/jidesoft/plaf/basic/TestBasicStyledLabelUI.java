@@ -0,0 +1,70 @@
+package com.jidesoft.plaf.basic;
+
+import com.jidesoft.swing.StyleRange;
+import com.jidesoft.swing.StyledLabel;
+import junit.framework.TestCase;
+
+import java.awt.*;
+
+public class TestBasicStyledLabelUI extends TestCase {
+    private int _buildCount;
+    private BasicStyledLabelUI _ui;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        _buildCount = 0;
+        _ui = new BasicStyledLabelUI() {
+            @Override
+            protected void buildStyledText(StyledLabel label) {
+                _buildCount++;
+                super.buildStyledText(label);
+            }
+        };
+    }
+
+    private StyledLabel createLabel(int fontStyle) {
+        StyledLabel label = new StyledLabel("Styled Label");
+        label.setUI(_ui);
+        label.setFont(new Font("Dialog", Font.PLAIN, 12));
+        label.addStyleRange(new StyleRange(0, 6, fontStyle));
+        return label;
+    }
+
+    public void testReuse() {
+        StyledLabel label = createLabel(Font.BOLD);
+        int width = _ui.getPreferredSize(label).width;
+        assertEquals(1, _buildCount);
+        assertEquals(width, _ui.getPreferredSize(label).width);
+        assertEquals(1, _buildCount);
+
+        // another label with equal text, style ranges and font shares the layout
+        assertEquals(width, _ui.getPreferredSize(createLabel(Font.BOLD)).width);
+        assertEquals(1, _buildCount);
+    }
+
+    public void testStyleRangeChange() {
+        StyledLabel label = createLabel(Font.BOLD);
+        int boldWidth = _ui.getPreferredSize(label).width;
+        label.clearStyleRanges();
+        int plainWidth = _ui.getPreferredSize(label).width;
+        assertEquals(2, _buildCount);
+        assertTrue(plainWidth + " " + boldWidth, plainWidth < boldWidth);
+
+        // a renderer sets the style ranges back for the next cell
+        label.addStyleRange(new StyleRange(0, 6, Font.BOLD));
+        assertEquals(boldWidth, _ui.getPreferredSize(label).width);
+        assertEquals(2, _buildCount);
+    }
+
+    public void testFontChange() {
+        StyledLabel label = createLabel(Font.BOLD);
+        int width = _ui.getPreferredSize(label).width;
+        label.setFont(new Font("Dialog", Font.PLAIN, 24));
+        assertTrue(_ui.getPreferredSize(label).width > width);
+        assertEquals(2, _buildCount);
+        label.setFont(new Font("Dialog", Font.PLAIN, 12));
+        assertEquals(width, _ui.getPreferredSize(label).width);
+        assertEquals(2, _buildCount);
+    }
+}
@@ -0,0 +1,56 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class TestFastGradientPainter extends TestCase {
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        JideSwingUtilities.clearGradientCache();
+        JideSwingUtilities.setGradientCacheCapacity(256);
+    }
+
+    public void testCache() {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        long hits = JideSwingUtilities.getGradientCacheHitCount();
+        long misses = JideSwingUtilities.getGradientCacheMissCount();
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 50, 40), Color.WHITE, Color.BLUE, true);
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(10, 10, 80, 40), Color.WHITE, Color.BLUE, true);
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 50, 40), new Color(255, 255, 255), Color.BLUE, true);
+        assertEquals(2, JideSwingUtilities.getGradientCacheHitCount() - hits);
+        assertEquals(1, JideSwingUtilities.getGradientCacheMissCount() - misses);
+        assertEquals(1, JideSwingUtilities.getGradientCacheSize());
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(10, 0));
+
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 50, 40), Color.WHITE, Color.BLUE, false);
+        assertEquals(2, JideSwingUtilities.getGradientCacheSize());
+        g2d.dispose();
+    }
+
+    public void testCapacity() {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        JideSwingUtilities.setGradientCacheCapacity(4);
+        long evictions = JideSwingUtilities.getGradientCacheEvictionCount();
+        for (int i = 1; i <= 10; i++) {
+            JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 10, i), Color.WHITE, Color.BLUE, true);
+        }
+        assertEquals(4, JideSwingUtilities.getGradientCacheSize());
+        assertEquals(6, JideSwingUtilities.getGradientCacheEvictionCount() - evictions);
+
+        // the least recently used gradient is evicted
+        long hits = JideSwingUtilities.getGradientCacheHitCount();
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 10, 7), Color.WHITE, Color.BLUE, true);
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 10, 11), Color.WHITE, Color.BLUE, true);
+        JideSwingUtilities.fillGradient(g2d, new Rectangle(0, 0, 10, 7), Color.WHITE, Color.BLUE, true);
+        assertEquals(2, JideSwingUtilities.getGradientCacheHitCount() - hits);
+
+        JideSwingUtilities.setGradientCacheCapacity(2);
+        assertEquals(2, JideSwingUtilities.getGradientCacheSize());
+        g2d.dispose();
+    }
+}
@@ -0,0 +1,236 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestSearchable extends TestCase {
+    private static final int SIZE = 5000;
+
+    private ListSearchable createSearchable() {
+        return createSearchable(null);
+    }
+
+    private ListSearchable createSearchable(final String searchingText) {
+        String[] data = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            data[i] = "Item " + i;
+        }
+        ListSearchable searchable = new ListSearchable(new JList(data)) {
+            @Override
+            public String getSearchingText() {
+                return searchingText != null ? searchingText : super.getSearchingText();
+            }
+        };
+        searchable.setBackgroundSearch(true);
+        return searchable;
+    }
+
+    private List<Integer> findInBackground(final Searchable searchable, final String text, final int startIndex, final boolean wrap, final int maximum) throws Exception {
+        final List<Integer> matches = new ArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                searchable.findInBackground(text, startIndex, wrap, new Searchable.SearchCallback() {
+                    public boolean matchFound(int index) {
+                        assertTrue(SwingUtilities.isEventDispatchThread());
+                        matches.add(index);
+                        return matches.size() < maximum;
+                    }
+
+                    public void searchFinished(int matchCount) {
+                        assertEquals(matches.size(), matchCount);
+                        done.countDown();
+                    }
+                });
+            }
+        });
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        return matches;
+    }
+
+    public void testFindAll() throws Exception {
+        ListSearchable searchable = createSearchable();
+        List<Integer> matches = findInBackground(searchable, "item 12", 0, true, Integer.MAX_VALUE);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < SIZE; i++) {
+            if (("item " + i).startsWith("item 12")) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, matches);
+    }
+
+    public void testFindFromIndex() throws Exception {
+        ListSearchable searchable = createSearchable();
+        assertEquals(1200, findInBackground(searchable, "item 12", 1200, true, 1).get(0).intValue());
+        assertEquals(12, findInBackground(searchable, "item 12", 4000, true, 1).get(0).intValue());
+        assertEquals(0, findInBackground(searchable, "item 12", 4000, false, 1).size());
+
+        searchable.setReverseOrder(true);
+        assertEquals(1299, findInBackground(searchable, "item 12", 1400, true, 1).get(0).intValue());
+    }
+
+    public void testCancel() throws Exception {
+        final ListSearchable searchable = createSearchable();
+        final boolean[] called = new boolean[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                searchable.findInBackground("item", 0, true, new Searchable.SearchCallback() {
+                    public boolean matchFound(int index) {
+                        called[0] = true;
+                        return true;
+                    }
+
+                    public void searchFinished(int matchCount) {
+                        called[0] = true;
+                    }
+                });
+                searchable.cancelBackgroundSearch();
+            }
+        });
+        // a new search runs after the cancelled one on the same threads
+        findInBackground(searchable, "item 1", 0, true, 1);
+        assertFalse(called[0]);
+    }
+
+    public void testHighlightAll() throws Exception {
+        final ListSearchable searchable = createSearchable("item 12");
+        searchable.setBackgroundSearch(false);
+        final JList list = (JList) searchable.getComponent();
+        final int[] events = new int[1];
+        final int[][] selected = new int[1][];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                list.setSelectedIndex(searchable.findFirst("item 12"));
+                list.addListSelectionListener(new ListSelectionListener() {
+                    public void valueChanged(ListSelectionEvent e) {
+                        if (!e.getValueIsAdjusting()) {
+                            events[0]++;
+                        }
+                    }
+                });
+                searchable.highlightAll();
+                selected[0] = list.getSelectedIndices();
+            }
+        });
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < SIZE; i++) {
+            if (("item " + i).startsWith("item 12")) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected.size(), selected[0].length);
+        for (int i = 0; i < selected[0].length; i++) {
+            assertEquals(expected.get(i).intValue(), selected[0][i]);
+        }
+        // one change for the batch, one more for selecting the first match again
+        assertTrue(String.valueOf(events[0]), events[0] <= 2);
+    }
+
+    private static List<Integer> getExpectedMatches(String text) {
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < SIZE; i++) {
+            if (("item " + i).startsWith(text)) {
+                expected.add(i);
+            }
+        }
+        return expected;
+    }
+
+    private static int waitForSelection(final JList list, int count, final int[] events) throws Exception {
+        long end = System.currentTimeMillis() + 30000;
+        final int[] selected = new int[1];
+        while (System.currentTimeMillis() < end) {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                    selected[0] = list.getSelectedIndices().length;
+                }
+            });
+            if (selected[0] == count) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        // let the search finish
+        Thread.sleep(100);
+        final int[] result = new int[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                result[0] = events[0];
+            }
+        });
+        assertEquals(count, selected[0]);
+        return result[0];
+    }
+
+    private static void countSelectionEvents(JList list, final int[] events) {
+        list.addListSelectionListener(new ListSelectionListener() {
+            public void valueChanged(ListSelectionEvent e) {
+                if (!e.getValueIsAdjusting()) {
+                    events[0]++;
+                }
+            }
+        });
+    }
+
+    public void testBackgroundHighlightAll() throws Exception {
+        final ListSearchable searchable = createSearchable("item 12");
+        final JList list = (JList) searchable.getComponent();
+        final int[] events = new int[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                countSelectionEvents(list, events);
+                searchable.highlightAll();
+            }
+        });
+        int eventCount = waitForSelection(list, getExpectedMatches("item 12").size(), events);
+        // at most one change for each chunk of 1000 elements plus one for selecting the first match again
+        assertTrue(String.valueOf(eventCount), eventCount <= SIZE / 1000 + 1);
+    }
+
+    public void testSearchableBarBackgroundHighlightAll() throws Exception {
+        final ListSearchable searchable = createSearchable();
+        searchable.setSearchingDelay(0);
+        final JList list = (JList) searchable.getComponent();
+        final int[] events = new int[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                SearchableBar bar = new SearchableBar(searchable);
+                bar.setHighlightAll(true);
+                countSelectionEvents(list, events);
+                bar.setSearchingText("item 12");
+            }
+        });
+        int eventCount = waitForSelection(list, getExpectedMatches("item 12").size(), events);
+        // one change for the first match, then at most one for each chunk of 1000 elements
+        assertTrue(String.valueOf(eventCount), eventCount <= SIZE / 1000 + 1);
+    }
+
+    public void testElementStringCache() {
+        DefaultListModel model = new DefaultListModel();
+        StringBuilder element = new StringBuilder("Apple");
+        model.addElement("Banana");
+        model.addElement(element);
+        ListSearchable searchable = new ListSearchable(new JList(model));
+        searchable.setElementStringCached(true);
+        assertEquals(1, searchable.findAll("apple").nextSetBit(0));
+
+        element.replace(0, element.length(), "Cherry");
+        // the cached string is used until the model changes
+        assertEquals(1, searchable.findAll("apple").nextSetBit(0));
+        model.set(1, element);
+        assertEquals(-1, searchable.findAll("apple").nextSetBit(0));
+        assertEquals(1, searchable.findAll("cherry").nextSetBit(0));
+
+        searchable.setCaseSensitive(true);
+        assertEquals(-1, searchable.findAll("cherry").nextSetBit(0));
+        assertEquals(1, searchable.findAll("Cherry").nextSetBit(0));
+    }
+}
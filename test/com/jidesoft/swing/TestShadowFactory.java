@@ -0,0 +1,68 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class TestShadowFactory extends TestCase {
+    private static BufferedImage createRectangle(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, width, height);
+        g2.dispose();
+        return image;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual, int tolerance) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int expectedRGB = getRGB(expected, x, y);
+                int actualRGB = getRGB(actual, x, y);
+                assertEquals(x + "," + y, expectedRGB >>> 24, actualRGB >>> 24);
+                int alpha = expectedRGB >>> 24;
+                for (int shift = 0; shift < 24; shift += 8) {
+                    // compare the premultiplied colors, which is what gets painted
+                    int difference = (((expectedRGB >> shift) & 0xff) - ((actualRGB >> shift) & 0xff)) * alpha / 255;
+                    assertTrue(x + "," + y + ": " + Integer.toHexString(expectedRGB) + " " + Integer.toHexString(actualRGB), Math.abs(difference) <= tolerance);
+                }
+            }
+        }
+    }
+
+    private static int getRGB(BufferedImage image, int x, int y) {
+        int rgb = image.getRGB(x, y);
+        return (rgb >>> 24) == 0 ? 0 : rgb;
+    }
+
+    public void testRectangleShadow() {
+        ShadowFactory factory = new ShadowFactory(6, 0.7f, Color.GRAY);
+        BufferedImage shadow = factory.createRectangleShadow(40, 30);
+        assertSamePixels(factory.createShadow(createRectangle(40, 30)), shadow, 0);
+        assertSame(shadow, factory.createRectangleShadow(40, 30));
+        assertSame(shadow, new ShadowFactory(6, 0.7f, Color.GRAY).createRectangleShadow(40, 30));
+        assertNotSame(shadow, new ShadowFactory(6, 0.5f, Color.GRAY).createRectangleShadow(40, 30));
+    }
+
+    public void testPaintRectangleShadow() {
+        int[] sizes = {1, 2, 5, 6, 9};
+        int[][] rectangles = {{1, 1}, {3, 40}, {13, 13}, {14, 15}, {120, 33}, {200, 300}};
+        for (int size : sizes) {
+            ShadowFactory factory = new ShadowFactory(size, 0.7f, Color.GRAY);
+            for (int[] rectangle : rectangles) {
+                BufferedImage expected = factory.createShadow(createRectangle(rectangle[0], rectangle[1]));
+                BufferedImage painted = new BufferedImage(expected.getWidth(), expected.getHeight(), BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2 = painted.createGraphics();
+                g2.setComposite(AlphaComposite.Src);
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                factory.paintRectangleShadow(g2, 0, 0, rectangle[0], rectangle[1]);
+                g2.dispose();
+                // the stretched slices are scaled with premultiplied alpha, which may round the color by one
+                assertSamePixels(expected, painted, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import java.awt.*;
+
+public class TestStyledLabelBuilder extends TestCase {
+    public void testSetStyledText() {
+        for (int i = 0; i < 2; i++) {
+            StyledLabel label = new StyledLabel();
+            StyledLabelBuilder.setStyledText(label, "I'm your {first:bold} styled {label:italic,f:blue}!");
+            assertEquals("I'm your first styled label!", label.getText());
+            StyleRange[] ranges = label.getStyleRanges();
+            assertEquals(2, ranges.length);
+            assertEquals(9, ranges[0].getStart());
+            assertEquals(5, ranges[0].getLength());
+            assertEquals(Font.BOLD, ranges[0].getFontStyle());
+            assertEquals(22, ranges[1].getStart());
+            assertEquals(Font.ITALIC, ranges[1].getFontStyle());
+            assertEquals(Color.BLUE, ranges[1].getFontColor());
+        }
+    }
+
+    public void testBuilderStyles() {
+        StyledLabel label = new StyledLabel();
+        new StyledLabelBuilder().register("KEY", Font.BOLD).configure(label, "{a:KEY}");
+        assertEquals(Font.BOLD, label.getStyleRanges()[0].getFontStyle());
+        new StyledLabelBuilder().register("KEY", Font.ITALIC).configure(label, "{a:KEY}");
+        assertEquals(Font.ITALIC, label.getStyleRanges()[0].getFontStyle());
+    }
+}
@@ -0,0 +1,65 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+import java.util.BitSet;
+import java.util.Random;
+
+public class TestTableSearchable extends TestCase {
+    private static JTable createTable() {
+        Random random = new Random(0);
+        DefaultTableModel model = new DefaultTableModel(500, 6);
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                model.setValueAt("v" + random.nextInt(50), row, column);
+            }
+        }
+        return new JTable(model);
+    }
+
+    private static void checkFindAll(TableSearchable searchable) {
+        for (String s : new String[]{"v1", "V2", "v42", "none"}) {
+            searchable.setModelSearchEnabled(false);
+            BitSet expected = searchable.findAll(s);
+            searchable.setModelSearchEnabled(true);
+            assertEquals(s, expected, searchable.findAll(s));
+        }
+    }
+
+    private static void checkAllModes(JTable table) {
+        TableSearchable searchable = new TableSearchable(table);
+
+        // row selection
+        table.setRowSelectionAllowed(true);
+        table.setColumnSelectionAllowed(false);
+        searchable.setMainIndex(2);
+        checkFindAll(searchable);
+
+        // multiple columns
+        searchable.setSearchColumnIndices(new int[]{1, 4});
+        checkFindAll(searchable);
+
+        // cell selection
+        table.setCellSelectionEnabled(true);
+        searchable.setMainIndex(-1);
+        checkFindAll(searchable);
+    }
+
+    public void testModelSearch() {
+        checkAllModes(createTable());
+    }
+
+    public void testModelSearchMovedAndSorted() {
+        JTable table = createTable();
+        table.moveColumn(0, 3);
+        TableRowSorter<TableModel> sorter = new TableRowSorter<TableModel>(table.getModel());
+        sorter.toggleSortOrder(1);
+        sorter.setRowFilter(RowFilter.regexFilter("v[0-3]", 5));
+        table.setRowSorter(sorter);
+        checkAllModes(table);
+    }
+}
@@ -0,0 +1,172 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Highlighter;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestTextComponentSearchable extends TestCase {
+    private static TextComponentSearchable createSearchable(JTextArea textArea, final String searchingText) {
+        return new TextComponentSearchable(textArea) {
+            @Override
+            public String getSearchingText() {
+                return searchingText;
+            }
+        };
+    }
+
+    public void testSegmentSearch() throws BadLocationException {
+        Random random = new Random(0);
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            buf.append("aAbB \n".charAt(random.nextInt(6)));
+        }
+        JTextArea textArea = new JTextArea(buf.toString());
+        // move the gap of the document content into the middle
+        textArea.getDocument().insertString(10000, "ab", null);
+
+        TextComponentSearchable copied = createSearchable(textArea, "ab");
+        TextComponentSearchable segments = createSearchable(textArea, "ab");
+        segments.setSegmentSearchEnabled(true);
+        for (boolean caseSensitive : new boolean[]{false, true}) {
+            copied.setCaseSensitive(caseSensitive);
+            segments.setCaseSensitive(caseSensitive);
+            for (String s : new String[]{"ab", "Ab", "a b", "bbbbbb"}) {
+                assertEquals(copied.findFirst(s), segments.findFirst(s));
+                assertEquals(copied.findLast(s), segments.findLast(s));
+                assertEquals(copied.findAll(s), segments.findAll(s));
+                for (int i = 0; i < 50; i++) {
+                    int cursor = random.nextInt(textArea.getDocument().getLength());
+                    copied.setCursor(cursor);
+                    segments.setCursor(cursor);
+                    assertEquals(copied.findNext(s), segments.findNext(s));
+                    assertEquals(copied.findPrevious(s), segments.findPrevious(s));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> getHighlights(JTextArea textArea) {
+        List<Integer> offsets = new ArrayList<Integer>();
+        for (Highlighter.Highlight highlight : textArea.getHighlighter().getHighlights()) {
+            assertEquals(3, highlight.getEndOffset() - highlight.getStartOffset());
+            offsets.add(highlight.getStartOffset());
+        }
+        Collections.sort(offsets);
+        return offsets;
+    }
+
+    private static List<Integer> getMatches(JTextArea textArea) {
+        List<Integer> offsets = new ArrayList<Integer>();
+        String text = textArea.getText().toLowerCase();
+        for (int i = text.indexOf("foo"); i != -1; i = text.indexOf("foo", i + 1)) {
+            offsets.add(i);
+        }
+        return offsets;
+    }
+
+    public void testHighlightsOnEdit() throws BadLocationException {
+        JTextArea textArea = new JTextArea("foo bar foo fo");
+        TextComponentSearchable searchable = createSearchable(textArea, "foo");
+        searchable.setSelectedIndex(searchable.findFirst("foo"), false);
+        searchable.highlightAll();
+        assertEquals(getMatches(textArea), getHighlights(textArea));
+
+        Document document = textArea.getDocument();
+        Random random = new Random(0);
+        String[] inserts = {"o", "f", "foo", "x", "FOO", " "};
+        for (int i = 0; i < 300; i++) {
+            int length = document.getLength();
+            if (length > 0 && random.nextInt(3) == 0) {
+                int offset = random.nextInt(length);
+                document.remove(offset, Math.min(length - offset, 1 + random.nextInt(3)));
+            }
+            else {
+                document.insertString(random.nextInt(length + 1), inserts[random.nextInt(inserts.length)], null);
+            }
+            assertEquals(textArea.getText(), getMatches(textArea), getHighlights(textArea));
+        }
+
+        searchable.removeAllHighlights();
+        document.insertString(0, "foo", null);
+        assertEquals(0, textArea.getHighlighter().getHighlights().length);
+    }
+
+    public void testLazyHighlight() throws Exception {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            buf.append("line ").append(i).append(" foo\n");
+        }
+        final JTextArea textArea = new JTextArea(buf.toString());
+        final JScrollPane scrollPane = new JScrollPane(textArea);
+        final TextComponentSearchable searchable = createSearchable(textArea, "foo");
+        searchable.setLazyHighlightEnabled(true);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                scrollPane.setSize(300, 200);
+                scrollPane.doLayout();
+                scrollPane.getViewport().doLayout();
+                searchable.setSelectedIndex(searchable.findFirst("foo"), false);
+                searchable.highlightAll();
+            }
+        });
+        assertEquals(getMatches(textArea), toList(searchable.getHighlightedOffsets()));
+        checkVisibleHighlights(textArea);
+
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                scrollPane.getViewport().setViewPosition(new Point(0, 20000));
+            }
+        });
+        checkVisibleHighlights(textArea);
+
+        Document document = textArea.getDocument();
+        Random random = new Random(0);
+        String[] inserts = {"o", "f", "foo", "x\n", " "};
+        for (int i = 0; i < 100; i++) {
+            int length = document.getLength();
+            int offset = random.nextInt(length);
+            if (random.nextBoolean()) {
+                document.remove(offset, Math.min(length - offset, 1 + random.nextInt(3)));
+            }
+            else {
+                document.insertString(offset, inserts[random.nextInt(inserts.length)], null);
+            }
+            assertEquals(getMatches(textArea), toList(searchable.getHighlightedOffsets()));
+        }
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+            }
+        });
+        checkVisibleHighlights(textArea);
+    }
+
+    private static List<Integer> toList(int[] offsets) {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int offset : offsets) {
+            list.add(offset);
+        }
+        return list;
+    }
+
+    private static void checkVisibleHighlights(JTextArea textArea) {
+        Rectangle rect = textArea.getVisibleRect();
+        int start = textArea.viewToModel(new Point(rect.x, rect.y));
+        int end = textArea.viewToModel(new Point(rect.x + rect.width, rect.y + rect.height));
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int offset : getMatches(textArea)) {
+            if (offset + 3 > start && offset <= end) {
+                expected.add(offset);
+            }
+        }
+        assertTrue(expected.size() > 0);
+        assertEquals(expected, getHighlights(textArea));
+    }
+}
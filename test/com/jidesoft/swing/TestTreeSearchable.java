@@ -0,0 +1,99 @@
+package com.jidesoft.swing;
+
+import junit.framework.TestCase;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestTreeSearchable extends TestCase {
+    private int _count;
+
+    private DefaultMutableTreeNode createNode(Random random, int depth) {
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode("node" + _count++);
+        if (depth > 0) {
+            int children = random.nextInt(4);
+            for (int i = 0; i < children; i++) {
+                node.add(createNode(random, depth - 1));
+            }
+        }
+        return node;
+    }
+
+    private static List<DefaultMutableTreeNode> getNodes(DefaultMutableTreeNode root) {
+        List<DefaultMutableTreeNode> nodes = new ArrayList<DefaultMutableTreeNode>();
+        for (java.util.Enumeration<?> e = root.preorderEnumeration(); e.hasMoreElements(); ) {
+            nodes.add((DefaultMutableTreeNode) e.nextElement());
+        }
+        return nodes;
+    }
+
+    private void checkIncrementalUpdate(boolean rootVisible) {
+        Random random = new Random(0);
+        DefaultMutableTreeNode root = createNode(random, 4);
+        DefaultTreeModel model = new DefaultTreeModel(root);
+        JTree tree = new JTree(model);
+        tree.setRootVisible(rootVisible);
+        final int[] resets = new int[1];
+        TreeSearchable searchable = new TreeSearchable(tree) {
+            @Override
+            protected void resetTreePathes() {
+                super.resetTreePathes();
+                resets[0]++;
+            }
+        };
+        searchable.setRecursive(true);
+        searchable.setIncrementalUpdate(true);
+        resets[0] = 0;
+        TreeSearchable expected = new TreeSearchable(new JTree(model));
+        expected.setRecursive(true);
+        ((JTree) expected.getComponent()).setRootVisible(rootVisible);
+
+        for (int i = 0; i < 300; i++) {
+            List<DefaultMutableTreeNode> nodes = getNodes(root);
+            DefaultMutableTreeNode node = nodes.get(random.nextInt(nodes.size()));
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    model.insertNodeInto(createNode(random, 2), node, random.nextInt(node.getChildCount() + 1));
+                    break;
+                case 2:
+                    if (node != root) {
+                        model.removeNodeFromParent(node);
+                    }
+                    break;
+                case 3:
+                    // a structure change of the root rebuilds the whole cache anyway
+                    if (node != root) {
+                        node.removeAllChildren();
+                        node.add(createNode(random, 1));
+                        model.nodeStructureChanged(node);
+                    }
+                    break;
+            }
+            expected.resetTreePathes();
+            assertEquals(expected.getTreePathes(), searchable.getTreePathes());
+
+            List<TreePath> paths = expected.getTreePathes();
+            if (paths.size() > 0) {
+                int index = random.nextInt(paths.size());
+                tree.setSelectionPath(new TreePath(paths.get(index).getPath()));
+                assertEquals(index, searchable.getSelectedIndex());
+            }
+        }
+        // the cached tree paths were patched, never rebuilt
+        assertEquals(0, resets[0]);
+    }
+
+    public void testIncrementalUpdate() {
+        checkIncrementalUpdate(true);
+    }
+
+    public void testIncrementalUpdateRootHidden() {
+        checkIncrementalUpdate(false);
+    }
+}
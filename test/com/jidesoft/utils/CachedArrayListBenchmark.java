@@ -0,0 +1,57 @@
+package com.jidesoft.utils;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the default {@link TreeIndexCache} of {@link CachedArrayList} with the <code>IdentityHashMap</code> cache
+ * which has to be rebuilt on every insertion or removal in the middle of the list, as well as the compact
+ * {@link IntIndexCache}.
+ */
+public class CachedArrayListBenchmark {
+    private static final int SIZE = 200000;
+    private static final int OPERATIONS = 200;
+    private static final int ROUNDS = 3;
+
+    private static class HashCachedArrayList<E> extends CachedArrayList<E> {
+        @Override
+        protected Map<Object, Integer> createCache() {
+            return new IdentityHashMap<Object, Integer>();
+        }
+    }
+
+    private static long run(List<Object> list) {
+        long before = System.nanoTime();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(new Object());
+        }
+        Random random = new Random(0);
+        long checksum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int index = random.nextInt(list.size());
+            Object o = new Object();
+            list.add(index, o);
+            checksum += list.indexOf(o);
+            checksum += list.indexOf(list.get(random.nextInt(list.size())));
+            list.remove(random.nextInt(list.size()));
+        }
+        long after = System.nanoTime();
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return (after - before) / 1000000;
+    }
+
+    public static void main(String[] args) {
+        for (int round = 0; round < ROUNDS; round++) {
+            System.out.println("Round " + round + ": " + OPERATIONS + " middle insertions/removals on " + SIZE + " elements");
+            System.out.println("\tIdentityHashMap cache took " + run(new HashCachedArrayList<Object>()) + "ms");
+            System.out.println("\tTreeIndexCache took " + run(new CachedArrayList<Object>()) + "ms");
+            CachedArrayList<Object> compactList = new CachedArrayList<Object>();
+            compactList.setCompactCaching(true);
+            System.out.println("\tIntIndexCache took " + run(compactList) + "ms");
+        }
+    }
+}
@@ -2,7 +2,13 @@ package com.jidesoft.utils;
 
 import junit.framework.TestCase;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class TestCachedArrayList extends TestCase {
     CachedArrayList<String> cachedList;
@@ -151,4 +157,84 @@ public class TestCachedArrayList extends TestCase {
         list.clear();
         assertEquals(0, list.size());
     }
+
+    public void testSerialization() throws Exception {
+        checkSerialization(new CachedArrayList<String>(), new CachedVector<String>());
+    }
+
+    public void testCompactCachingSerialization() throws Exception {
+        CachedArrayList<String> cachedList = new CachedArrayList<String>();
+        cachedList.setCompactCaching(true);
+        CachedVector<String> cachedVector = new CachedVector<String>();
+        cachedVector.setCompactCaching(true);
+        checkSerialization(cachedList, cachedVector);
+    }
+
+    private static void checkSerialization(List<String> cachedList, List<String> cachedVector) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            cachedList.add(0, String.valueOf(i));
+            cachedVector.add(0, String.valueOf(i));
+        }
+        assertEquals(99, cachedList.indexOf(cachedList.get(99)));
+        assertEquals(99, cachedVector.indexOf(cachedVector.get(99)));
+        for (List<?> original : new List<?>[]{cachedList, cachedVector}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(original);
+            out.close();
+            List<?> copy = (List<?>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+            assertEquals(original, copy);
+            for (int i = 0; i < copy.size(); i++) {
+                assertEquals(i, copy.indexOf(copy.get(i)));
+            }
+        }
+    }
+
+    public void testRandomInsertRemove() {
+        randomInsertRemove(new CachedArrayList<Object>());
+    }
+
+    public void testCompactCaching() {
+        CachedArrayList<Object> cachedList = new CachedArrayList<Object>();
+        cachedList.setCompactCaching(true);
+        randomInsertRemove(cachedList);
+
+        CachedVector<Object> cachedVector = new CachedVector<Object>();
+        cachedVector.setCompactCaching(true);
+        for (int i = 0; i < 1000; i++) {
+            cachedVector.add(i / 2, new Object());
+        }
+        for (int i = 0; i < 500; i++) {
+            cachedVector.remove(i);
+        }
+        for (int i = 0; i < cachedVector.size(); i++) {
+            assertEquals(i, cachedVector.indexOf(cachedVector.get(i)));
+        }
+    }
+
+    private void randomInsertRemove(CachedArrayList<Object> cachedList) {
+        ArrayList<Object> list = new ArrayList<Object>();
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            Object o = new Object();
+            int index = random.nextInt(list.size() + 1);
+            cachedList.add(index, o);
+            list.add(index, o);
+            if (random.nextInt(3) == 0) {
+                index = random.nextInt(list.size());
+                cachedList.remove(index);
+                list.remove(index);
+            }
+            if (random.nextInt(5) == 0) {
+                Object removed = list.remove(random.nextInt(list.size()));
+                cachedList.remove(removed);
+            }
+            Object probe = list.get(random.nextInt(list.size()));
+            assertEquals(list.indexOf(probe), cachedList.indexOf(probe));
+        }
+        assertEquals(list, cachedList);
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i, cachedList.indexOf(list.get(i)));
+        }
+    }
 }
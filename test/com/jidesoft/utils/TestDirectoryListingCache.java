@@ -0,0 +1,110 @@
+package com.jidesoft.utils;
+
+import junit.framework.TestCase;
+
+import javax.swing.filechooser.FileSystemView;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestDirectoryListingCache extends TestCase {
+    private File _dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        _dir = File.createTempFile("listing", "");
+        assertTrue(_dir.delete());
+        assertTrue(_dir.mkdir());
+        assertTrue(new File(_dir, "a.txt").createNewFile());
+        assertTrue(new File(_dir, "sub").mkdir());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        File[] files = _dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        _dir.delete();
+        super.tearDown();
+    }
+
+    private static Map<String, Boolean> toMap(DirectoryListingCache.Entry[] entries) {
+        Map<String, Boolean> map = new HashMap<String, Boolean>();
+        for (DirectoryListingCache.Entry entry : entries) {
+            map.put(entry.getName(), entry.isDirectory());
+        }
+        return map;
+    }
+
+    public void testList() {
+        DirectoryListingCache cache = new DirectoryListingCache(4, 60000);
+        DirectoryListingCache.Entry[] entries = cache.list(_dir);
+        Map<String, Boolean> map = toMap(entries);
+        assertEquals(2, map.size());
+        assertEquals(Boolean.FALSE, map.get("a.txt"));
+        assertEquals(Boolean.TRUE, map.get("sub"));
+        assertSame(entries, cache.list(_dir));
+        assertNull(cache.list(new File(_dir, "a.txt")));
+        assertNull(cache.list(new File(_dir, "missing")));
+    }
+
+    public void testRevalidate() throws IOException {
+        DirectoryListingCache cache = new DirectoryListingCache(4, 0);
+        DirectoryListingCache.Entry[] entries = cache.list(_dir);
+        assertSame(entries, cache.list(_dir));
+
+        assertTrue(new File(_dir, "b.txt").createNewFile());
+        // make sure the change is visible even on file systems with a coarse modification time
+        assertTrue(_dir.setLastModified(_dir.lastModified() + 10000));
+        Map<String, Boolean> map = toMap(cache.list(_dir));
+        assertEquals(3, map.size());
+        assertEquals(Boolean.FALSE, map.get("b.txt"));
+    }
+
+    public void testInvalidate() throws IOException {
+        DirectoryListingCache cache = new DirectoryListingCache(4, 60000);
+        DirectoryListingCache.Entry[] entries = cache.list(_dir);
+        assertTrue(new File(_dir, "b.txt").createNewFile());
+        assertSame(entries, cache.list(_dir));
+        cache.invalidate(_dir);
+        assertEquals(3, cache.list(_dir).length);
+    }
+
+    public void testListThroughFileSystemView() throws IOException {
+        final File[] calls = new File[1];
+        FileSystemView view = new FileSystemView() {
+            @Override
+            public File createNewFolder(File containingDir) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public File[] getFiles(File dir, boolean useFileHiding) {
+                calls[0] = dir;
+                // the view decides which children there are
+                return useFileHiding ? new File[]{new File(dir, "sub")} : new File[]{new File(dir, "sub"), new File(dir, "a.txt")};
+            }
+        };
+        DirectoryListingCache cache = new DirectoryListingCache(4, 60000);
+        assertEquals(2, cache.list(_dir).length);
+
+        DirectoryListingCache.Entry[] entries = cache.list(_dir, view, true);
+        assertSame(_dir, calls[0]);
+        assertEquals(1, entries.length);
+        assertEquals("sub", entries[0].getName());
+        assertTrue(entries[0].isDirectory());
+        calls[0] = null;
+        assertSame(entries, cache.list(_dir, view, true));
+        assertNull(calls[0]);
+        assertEquals(2, cache.list(_dir, view, false).length);
+
+        cache.invalidate(_dir);
+        assertNotSame(entries, cache.list(_dir, view, true));
+        assertSame(_dir, calls[0]);
+    }
+}
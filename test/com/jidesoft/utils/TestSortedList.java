@@ -0,0 +1,80 @@
+package com.jidesoft.utils;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class TestSortedList extends TestCase {
+    private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    public void testAdd() {
+        SortedList<Integer> sortedList = new SortedList<Integer>(new ArrayList<Integer>(), COMPARATOR);
+        List<Integer> expected = new ArrayList<Integer>();
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            Integer value = random.nextInt(100);
+            sortedList.add(value);
+            expected.add(value);
+        }
+        Collections.sort(expected);
+        assertEquals(expected, new ArrayList<Integer>(sortedList));
+    }
+
+    public void testAddAll() {
+        SortedList<Integer> sortedList = new SortedList<Integer>(new ArrayList<Integer>(), COMPARATOR);
+        sortedList.addAll(Arrays.asList(5, 1, 9, 3));
+        sortedList.addAll(Arrays.asList(4, 10, 0, 5));
+        assertEquals(Arrays.asList(0, 1, 3, 4, 5, 5, 9, 10), new ArrayList<Integer>(sortedList));
+        sortedList.addAll(Arrays.asList(11, 12));
+        assertEquals(Arrays.asList(0, 1, 3, 4, 5, 5, 9, 10, 11, 12), new ArrayList<Integer>(sortedList));
+    }
+
+    public void testIndexOf() {
+        SortedList<Integer> sortedList = new SortedList<Integer>(new ArrayList<Integer>(), COMPARATOR);
+        sortedList.addAll(Arrays.asList(7, 3, 3, 1, 9));
+        assertEquals(0, sortedList.indexOf(1));
+        assertEquals(1, sortedList.indexOf(3));
+        assertEquals(2, sortedList.lastIndexOf(3));
+        assertEquals(4, sortedList.indexOf(9));
+        assertEquals(-1, sortedList.indexOf(4));
+        assertEquals(-1, sortedList.indexOf("3"));
+        assertTrue(sortedList.contains(7));
+        assertFalse(sortedList.contains(8));
+        assertTrue(sortedList.remove((Object) 3));
+        assertEquals(Arrays.asList(1, 3, 7, 9), new ArrayList<Integer>(sortedList));
+    }
+
+    public void testEqualSortKey() {
+        Comparator<int[]> comparator = new Comparator<int[]>() {
+            public int compare(int[] o1, int[] o2) {
+                return o1[0] - o2[0];
+            }
+        };
+        SortedList<int[]> sortedList = new SortedList<int[]>(new ArrayList<int[]>(), comparator);
+        int[] first = {5};
+        int[] second = {5};
+        sortedList.addAll(Arrays.asList(new int[]{1}, first, second, new int[]{9}));
+        // only the elements with the same sort key are compared with equals
+        assertEquals(1, sortedList.indexOf(first));
+        assertEquals(2, sortedList.indexOf(second));
+        assertEquals(1, sortedList.lastIndexOf(first));
+        assertEquals(2, sortedList.lastIndexOf(second));
+        assertFalse(sortedList.contains(new int[]{5}));
+        assertEquals(-1, sortedList.lastIndexOf(new int[]{5}));
+        assertEquals(-1, sortedList.indexOf(new int[]{20}));
+
+        assertEquals(-1, sortedList.indexOf(null));
+        assertEquals(-1, sortedList.lastIndexOf(null));
+        assertFalse(sortedList.contains(null));
+        assertFalse(sortedList.remove(null));
+    }
+}
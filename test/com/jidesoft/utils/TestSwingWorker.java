@@ -0,0 +1,93 @@
+package com.jidesoft.utils;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TestSwingWorker extends TestCase {
+    private static class QueueExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+    }
+
+    private static class Worker extends SwingWorker<String, Object> {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+
+        @Override
+        protected String doInBackground() throws Exception {
+            started.countDown();
+            finish.await(30, TimeUnit.SECONDS);
+            return "done";
+        }
+    }
+
+    public void testExecutor() throws Exception {
+        QueueExecutor executor = new QueueExecutor();
+        final Worker worker = new Worker();
+        worker.setExecutor(executor);
+        int queued = SwingWorker.getQueuedWorkerCount();
+        int running = SwingWorker.getRunningWorkerCount();
+        worker.execute();
+        assertEquals(1, executor.tasks.size());
+        assertSame(worker, executor.tasks.get(0));
+        assertEquals(queued + 1, SwingWorker.getQueuedWorkerCount());
+        assertEquals(0, worker.getRunTime());
+
+        Thread thread = new Thread(executor.tasks.get(0));
+        thread.start();
+        assertTrue(worker.started.await(30, TimeUnit.SECONDS));
+        assertEquals(queued, SwingWorker.getQueuedWorkerCount());
+        assertEquals(running + 1, SwingWorker.getRunningWorkerCount());
+        Thread.sleep(20);
+        worker.finish.countDown();
+        assertEquals("done", worker.get());
+        thread.join();
+        assertEquals(running, SwingWorker.getRunningWorkerCount());
+        assertTrue(worker.getRunTime() >= 10);
+        long runTime = worker.getRunTime();
+        Thread.sleep(20);
+        assertEquals(runTime, worker.getRunTime());
+    }
+
+    public void testCancelQueued() {
+        QueueExecutor executor = new QueueExecutor();
+        Worker worker = new Worker();
+        worker.setExecutor(executor);
+        int queued = SwingWorker.getQueuedWorkerCount();
+        worker.execute();
+        assertEquals(queued + 1, SwingWorker.getQueuedWorkerCount());
+        worker.cancel(false);
+        assertEquals(queued, SwingWorker.getQueuedWorkerCount());
+    }
+
+    public void testDefaultExecutor() {
+        QueueExecutor executor = new QueueExecutor();
+        SwingWorker.setDefaultExecutor(executor);
+        try {
+            Worker worker = new Worker();
+            worker.execute();
+            assertEquals(1, executor.tasks.size());
+            worker.cancel(false);
+        }
+        finally {
+            SwingWorker.setDefaultExecutor(null);
+        }
+    }
+
+    public void testVirtualThreadExecutor() {
+        ExecutorService executor = SwingWorker.createVirtualThreadExecutor();
+        assertEquals(SwingWorker.isVirtualThreadSupported(), executor != null);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}